@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.apache.maven.artifact.handler.manager.DefaultArtifactHandlerManager;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.RepositorySystemSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds a BOM from a synthetic builder, which inherits unmanaged exclusions, thus also expands the exclusion wildcards,
+ * with all managed dependencies, or with half included explicitly and the transitives of one, which scales linearly only
+ * if the included dependencies' membership checks are constant time.
+ * The {@link StubRepositorySystem} stands in for dependency resolution, and the BOM is not written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BuildBomMojoBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private Model model;
+    private StubRepositorySystem repositorySystem;
+    private RepositorySystemSession repositorySystemSession;
+    private ArtifactHandlerManager artifactHandlerManager;
+    private List<IncludeDependency> includeDependencies;
+    private List<IncludeDependency> includeDependenciesTransitives;
+
+    @Setup
+    public void setup() {
+        model = SyntheticBuilder.createModel(size, new File(System.getProperty("java.io.tmpdir"), "bom-builder-benchmark").getAbsolutePath());
+        repositorySystem = new StubRepositorySystem(size);
+        repositorySystemSession = MavenRepositorySystemUtils.newSession();
+        artifactHandlerManager = new DefaultArtifactHandlerManager() {
+            @Override
+            public ArtifactHandler getArtifactHandler(String type) {
+                return new DefaultArtifactHandler(type);
+            }
+        };
+        includeDependencies = new ArrayList<>();
+        for (int i = 1; i < size; i += 2) {
+            includeDependencies.add(createIncludeDependency(i));
+        }
+        includeDependenciesTransitives = Collections.singletonList(createIncludeDependency(0));
+    }
+
+    @Benchmark
+    public MavenProject buildBom() throws MojoExecutionException, ReflectiveOperationException {
+        // the project is modified by the mojo, e.g. the BOM artifact is attached to it
+        final MavenProject mavenProject = new MavenProject(model);
+        createMojo(mavenProject).execute();
+        return mavenProject;
+    }
+
+    @Benchmark
+    public MavenProject buildBomWithIncludes() throws MojoExecutionException, ReflectiveOperationException {
+        final MavenProject mavenProject = new MavenProject(model);
+        final BuildBomMojo mojo = createMojo(mavenProject);
+        setField(mojo, "includeDependencies", includeDependencies);
+        setField(mojo, "includeDependenciesTransitives", includeDependenciesTransitives);
+        mojo.execute();
+        return mavenProject;
+    }
+
+    private BuildBomMojo createMojo(MavenProject mavenProject) throws ReflectiveOperationException {
+        final BuildBomMojo mojo = new BuildBomMojo(new BuildBomMojo.ModelWriter() {
+            @Override
+            boolean writeModel(Model pomModel, File outputFile) {
+                // skip
+                return false;
+            }
+        }, new PomDependencyVersionsTransformer());
+        mojo.setLog(new SilentLog());
+        setField(mojo, "bomGroupId", "org.synthetic");
+        setField(mojo, "bomArtifactId", "synthetic-bom");
+        setField(mojo, "bomVersion", "1.0.0.Final");
+        setField(mojo, "outputFilename", "bom-pom.xml");
+        setField(mojo, "inheritExclusions", InheritExclusions.UNMANAGED);
+        setField(mojo, "dependencySource", DependencySource.DEPENDENCY_MANAGEMENT);
+        setField(mojo, "mavenProject", mavenProject);
+        setField(mojo, "artifactHandlerManager", artifactHandlerManager);
+        setField(mojo, "repositorySystemSession", repositorySystemSession);
+        setField(mojo, "repositories", Collections.emptyList());
+        setField(mojo, "repositorySystem", repositorySystem);
+        return mojo;
+    }
+
+    private static IncludeDependency createIncludeDependency(int index) {
+        final IncludeDependency includeDependency = new IncludeDependency();
+        includeDependency.setGroupId(SyntheticBuilder.getGroupId(index));
+        includeDependency.setArtifactId(SyntheticBuilder.ARTIFACT_ID_PREFIX + index);
+        // no transitives, thus included dependencies are not resolved
+        includeDependency.setTransitive(false);
+        return includeDependency;
+    }
+
+    private static void setField(BuildBomMojo mojo, String name, Object value) throws ReflectiveOperationException {
+        final Field field = BuildBomMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wildfly.channel.ArtifactCoordinate;
+import org.wildfly.channel.Channel;
+import org.wildfly.channel.ChannelManifest;
+import org.wildfly.channel.ChannelManifestCoordinate;
+import org.wildfly.channel.ChannelManifestMapper;
+import org.wildfly.channel.ChannelMetadataCoordinate;
+import org.wildfly.channel.ChannelSession;
+import org.wildfly.channel.Repository;
+import org.wildfly.channel.Stream;
+import org.wildfly.channel.UnresolvedMavenArtifactException;
+import org.wildfly.channel.spi.MavenVersionsResolver;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up the latest versions of a synthetic builder's managed dependencies on two channels, with locally stored
+ * manifests, one with streams for half of the dependencies, and the other for a third. No artifact is resolved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChannelLookupBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private List<Dependency> dependencies;
+    private List<Path> manifests;
+    private ChannelSession channelSession;
+
+    @Setup
+    public void setup() throws IOException {
+        dependencies = SyntheticBuilder.createManagedDependencies(size);
+        manifests = new ArrayList<>();
+        final List<Channel> channels = new ArrayList<>();
+        for (int step : new int[] {2, 3}) {
+            final List<Stream> streams = new ArrayList<>();
+            for (int i = 0; i < size; i += step) {
+                streams.add(new Stream(SyntheticBuilder.getGroupId(i), SyntheticBuilder.ARTIFACT_ID_PREFIX + i, SyntheticBuilder.getVersion(i) + "-" + step));
+            }
+            final Path manifest = Files.createTempFile("manifest-" + step, ".yaml");
+            Files.write(manifest, ChannelManifestMapper.toYaml(new ChannelManifest("manifest-" + step, "manifest-" + step, null, streams)).getBytes(StandardCharsets.UTF_8));
+            manifests.add(manifest);
+            channels.add(new Channel(null, null, null, Collections.emptyList(), new ChannelManifestCoordinate(manifest.toUri().toURL()), null, null));
+        }
+        channelSession = new ChannelSession(channels, new StubMavenVersionsResolverFactory());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        for (Path manifest : manifests) {
+            Files.deleteIfExists(manifest);
+        }
+    }
+
+    @Benchmark
+    public void findLatestMavenArtifactVersions(Blackhole blackhole) {
+        for (Dependency dependency : dependencies) {
+            try {
+                blackhole.consume(channelSession.findLatestMavenArtifactVersion(dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(), dependency.getClassifier(), dependency.getVersion()));
+            } catch (UnresolvedMavenArtifactException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    /**
+     * A versions resolver factory, which resolvers only resolve channel metadata with URLs.
+     */
+    private static class StubMavenVersionsResolverFactory implements MavenVersionsResolver.Factory {
+
+        @Override
+        public MavenVersionsResolver create(Collection<Repository> repositories) {
+            return new MavenVersionsResolver() {
+                @Override
+                public Set<String> getAllVersions(String groupId, String artifactId, String extension, String classifier) {
+                    return Collections.emptySet();
+                }
+
+                @Override
+                public File resolveArtifact(String groupId, String artifactId, String extension, String classifier, String version) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public List<File> resolveArtifacts(List<ArtifactCoordinate> coordinates) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public List<URL> resolveChannelMetadata(List<? extends ChannelMetadataCoordinate> coordinates) {
+                    final List<URL> urls = new ArrayList<>();
+                    for (ChannelMetadataCoordinate coordinate : coordinates) {
+                        if (coordinate.getUrl() == null) {
+                            throw new UnsupportedOperationException();
+                        }
+                        urls.add(coordinate.getUrl());
+                    }
+                    return urls;
+                }
+
+                @Override
+                public String getMetadataReleaseVersion(String groupId, String artifactId) {
+                    return null;
+                }
+
+                @Override
+                public String getMetadataLatestVersion(String groupId, String artifactId) {
+                    return null;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches all managed dependencies of a synthetic builder against dependency rules, one per each ten groups, plus a
+ * few wildcard rules, same as when applying the excludeDependencies, includeDependencies, importDependencies and
+ * scopeOverrides rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DependencyMatcherBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private List<Dependency> dependencies;
+    private DependencyMatcher<Dependency> matcher;
+
+    @Setup
+    public void setup() {
+        dependencies = SyntheticBuilder.createManagedDependencies(size);
+        final List<Dependency> rules = new ArrayList<>();
+        for (int i = 0; i < size; i += SyntheticBuilder.ARTIFACTS_PER_GROUP * 10) {
+            rules.add(createRule(SyntheticBuilder.getGroupId(i), SyntheticBuilder.ARTIFACT_ID_PREFIX + i, "jar"));
+            rules.add(createRule(SyntheticBuilder.getGroupId(i + 1), "*", "*"));
+        }
+        rules.add(createRule("*", SyntheticBuilder.ARTIFACT_ID_PREFIX + (size - 1), "*"));
+        rules.add(createRule("*", "*", "pom"));
+        matcher = new DependencyMatcher<>(rules);
+    }
+
+    @Benchmark
+    public void match(Blackhole blackhole) {
+        for (Dependency dependency : dependencies) {
+            blackhole.consume(matcher.match(dependency));
+        }
+    }
+
+    private static Dependency createRule(String groupId, String artifactId, String type) {
+        final Dependency rule = new Dependency();
+        rule.setGroupId(groupId);
+        rule.setArtifactId(artifactId);
+        rule.setType(type);
+        return rule;
+    }
+}
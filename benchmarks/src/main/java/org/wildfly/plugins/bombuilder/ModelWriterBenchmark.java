@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a synthetic BOM to a file, either a new one, or one already having the BOM's content, which is not rewritten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModelWriterBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private Model model;
+    private BuildBomMojo.ModelWriter modelWriter;
+    private File outputFile;
+
+    @Setup
+    public void setup() throws IOException {
+        model = new PomDependencyVersionsTransformer().transformPomModel(SyntheticBuilder.createModel(size, "target"));
+        modelWriter = new BuildBomMojo.ModelWriter();
+        outputFile = Files.createTempFile("bom-pom", ".xml").toFile();
+    }
+
+    @TearDown
+    public void tearDown() {
+        outputFile.delete();
+    }
+
+    @Benchmark
+    public boolean writeModel() throws MojoExecutionException {
+        outputFile.delete();
+        return modelWriter.writeModel(model, outputFile);
+    }
+
+    @Benchmark
+    public boolean writeUnchangedModel() throws MojoExecutionException {
+        return modelWriter.writeModel(model, outputFile);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the versions of a synthetic BOM's managed dependencies with version properties, either on a copy of the BOM's
+ * model, or in place, which excludes the model's copy from the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PomDependencyVersionsTransformerBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    private int size;
+
+    private Model model;
+    private Model modelCopy;
+    private PomDependencyVersionsTransformer transformer;
+
+    @Setup
+    public void setup() {
+        model = SyntheticBuilder.createModel(size, "target");
+        model.setProperties(new OrderedProperties());
+        transformer = new PomDependencyVersionsTransformer();
+    }
+
+    @Setup(Level.Invocation)
+    public void copyModel() {
+        modelCopy = model.clone();
+    }
+
+    @Benchmark
+    public Model transformPomModel() {
+        return transformer.transformPomModel(model);
+    }
+
+    @Benchmark
+    public Model transformDependencyVersions() {
+        transformer.transformDependencyVersions(modelCopy);
+        return modelCopy;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.installation.InstallRequest;
+import org.eclipse.aether.installation.InstallResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionRequest;
+import org.eclipse.aether.resolution.VersionResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A repository system which, instead of collecting artifacts, returns the synthetic graph of the
+ * {@link SyntheticBuilder}'s dependencies: each managed dependency depends on the next two managed dependencies, and
+ * each of these on an unmanaged dependency.
+ */
+class StubRepositorySystem implements RepositorySystem {
+
+    private final int size;
+
+    /**
+     *
+     * @param size the number of synthetic builder's managed dependencies
+     */
+    StubRepositorySystem(int size) {
+        this.size = size;
+    }
+
+    @Override
+    public CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request) {
+        final DefaultDependencyNode root = new DefaultDependencyNode(request.getRootArtifact());
+        for (Dependency dependency : request.getDependencies()) {
+            final String artifactId = dependency.getArtifact().getArtifactId();
+            final int index = getIndex(artifactId);
+            final DefaultDependencyNode node = createNode(dependency.getArtifact().getGroupId(), artifactId, dependency.getArtifact().getVersion());
+            if (index >= 0 && !hasWildcardExclusion(dependency)) {
+                for (int i = index + 1; i <= index + 2 && i < size; i++) {
+                    final DefaultDependencyNode transitive = createNode(SyntheticBuilder.getGroupId(i), SyntheticBuilder.ARTIFACT_ID_PREFIX + i, SyntheticBuilder.getVersion(i));
+                    transitive.getChildren().add(createNode(SyntheticBuilder.UNMANAGED_GROUP_ID, "unmanaged-" + i, "1.0"));
+                    node.getChildren().add(transitive);
+                }
+                node.getChildren().add(createNode(SyntheticBuilder.UNMANAGED_GROUP_ID, "unmanaged-" + index, "1.0"));
+            }
+            root.getChildren().add(node);
+        }
+        return new CollectResult(request).setRoot(root);
+    }
+
+    @Override
+    public DependencyResult resolveDependencies(RepositorySystemSession session, DependencyRequest request) {
+        // the BOM generation only collects dependency graphs
+        throw new UnsupportedOperationException();
+    }
+
+    private static int getIndex(String artifactId) {
+        if (artifactId == null || !artifactId.startsWith(SyntheticBuilder.ARTIFACT_ID_PREFIX)) {
+            return -1;
+        }
+        return Integer.parseInt(artifactId.substring(SyntheticBuilder.ARTIFACT_ID_PREFIX.length()));
+    }
+
+    private static boolean hasWildcardExclusion(Dependency dependency) {
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            if ("*".equals(exclusion.getGroupId()) && "*".equals(exclusion.getArtifactId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DefaultDependencyNode createNode(String groupId, String artifactId, String version) {
+        final DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact(groupId, artifactId, "jar", version), "compile"));
+        node.setChildren(new ArrayList<>());
+        return node;
+    }
+
+    @Override
+    public VersionRangeResult resolveVersionRange(RepositorySystemSession session, VersionRangeRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public VersionResult resolveVersion(RepositorySystemSession session, VersionRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ArtifactDescriptorResult readArtifactDescriptor(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ArtifactResult> resolveArtifacts(RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<MetadataResult> resolveMetadata(RepositorySystemSession session, Collection<? extends MetadataRequest> requests) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InstallResult install(RepositorySystemSession session, InstallRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DeployResult deploy(RepositorySystemSession session, DeployRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LocalRepositoryManager newLocalRepositoryManager(RepositorySystemSession session, LocalRepository localRepository) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SyncContext newSyncContext(RepositorySystemSession session, boolean shared) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<RemoteRepository> newResolutionRepositories(RepositorySystemSession session, List<RemoteRepository> repositories) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RemoteRepository newDeploymentRepository(RepositorySystemSession session, RemoteRepository repository) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addOnSystemEndedHandler(Runnable handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
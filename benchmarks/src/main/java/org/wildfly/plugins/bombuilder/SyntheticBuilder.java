@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A synthetic builder, i.e. a project with a dependency management, to benchmark the BOM generation.
+ *
+ * Managed dependencies are spread over groups, each with its own version, and each depends on the next two managed
+ * dependencies and on an unmanaged dependency (see {@link StubRepositorySystem}). A hundred managed
+ * dependencies, regardless of the builder's size, have wildcard exclusions.
+ */
+class SyntheticBuilder {
+
+    static final String GROUP_ID_PREFIX = "org.synthetic.group";
+    static final String ARTIFACT_ID_PREFIX = "artifact-";
+    static final String UNMANAGED_GROUP_ID = "org.synthetic.unmanaged";
+    static final int ARTIFACTS_PER_GROUP = 10;
+    static final int DEPENDENCIES_WITH_EXCLUSIONS = 100;
+
+    private SyntheticBuilder() {
+    }
+
+    static String getGroupId(int index) {
+        return GROUP_ID_PREFIX + (index / ARTIFACTS_PER_GROUP);
+    }
+
+    static String getVersion(int index) {
+        return "1.0." + (index / ARTIFACTS_PER_GROUP) + ".Final";
+    }
+
+    /**
+     *
+     * @param size the number of managed dependencies
+     * @return the managed dependencies
+     */
+    static List<Dependency> createManagedDependencies(int size) {
+        final List<Dependency> dependencies = new ArrayList<>(size);
+        final int exclusionsInterval = Math.max(1, size / DEPENDENCIES_WITH_EXCLUSIONS);
+        for (int i = 0; i < size; i++) {
+            final Dependency dependency = new Dependency();
+            dependency.setGroupId(getGroupId(i));
+            dependency.setArtifactId(ARTIFACT_ID_PREFIX + i);
+            dependency.setVersion(getVersion(i));
+            if (i % exclusionsInterval == 0) {
+                switch ((i / exclusionsInterval) % 3) {
+                    case 0:
+                        dependency.addExclusion(createExclusion("*", "*"));
+                        break;
+                    case 1:
+                        dependency.addExclusion(createExclusion(UNMANAGED_GROUP_ID, "*"));
+                        break;
+                    default:
+                        dependency.addExclusion(createExclusion("*", "unmanaged-" + i));
+                        break;
+                }
+            }
+            dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
+    /**
+     *
+     * @param size the number of managed dependencies
+     * @param buildDirectory the project's build directory
+     * @return the builder's model
+     */
+    static Model createModel(int size, String buildDirectory) {
+        final Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("org.synthetic");
+        model.setArtifactId("synthetic-builder");
+        model.setVersion("1.0.0.Final");
+        model.setPackaging("pom");
+        final DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.setDependencies(createManagedDependencies(size));
+        model.setDependencyManagement(dependencyManagement);
+        final Build build = new Build();
+        build.setDirectory(buildDirectory);
+        model.setBuild(build);
+        return model;
+    }
+
+    private static Exclusion createExclusion(String groupId, String artifactId) {
+        final Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId(groupId);
+        exclusion.setArtifactId(artifactId);
+        return exclusion;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+  ~ Copyright (C) 2013 Red Hat, Inc
+  ~
+  ~ Licensed under the Apache License, Version 2.0 (the "License");
+  ~ you may not use this file except in compliance with the License.
+  ~ You may obtain a copy of the License at
+  ~
+  ~ http://www.apache.org/licenses/LICENSE-2.0
+  ~
+  ~ Unless required by applicable law or agreed to in writing, software
+  ~ distributed under the License is distributed on an "AS IS" BASIS,
+  ~ WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+  ~ See the License for the specific language governing permissions and
+  ~ limitations under the License.
+*/
+
+File file = new File(basedir, "target/bom-pom.xml")
+def bom = file.text
+// the commons-text *:* exclusion resolves to its unmanaged commons-lang3 dependency
+if (!bom.contains("<artifactId>commons-lang3</artifactId>")) {
+  println("VERIFY ERROR: bom-pom.xml does not contain commons-lang3 exclusion!")
+  return false
+}
+// the httpclient commons-logging:* and *:commons-codec exclusions resolve to its unmanaged commons-logging and commons-codec dependencies
+if (!bom.contains("<artifactId>commons-logging</artifactId>") || !bom.contains("<artifactId>commons-codec</artifactId>")) {
+  println("VERIFY ERROR: bom-pom.xml does not contain commons-logging and commons-codec exclusions!")
+  return false
+}
+if (bom.contains("<artifactId>*</artifactId>") || bom.contains("<groupId>*</groupId>")) {
+  println("VERIFY ERROR: bom-pom.xml should not contain wildcard exclusions!")
+  return false
+}
+File includeTransitivesFile = new File(basedir, "target/bom-include-transitives-pom.xml")
+def includeTransitivesBom = includeTransitivesFile.text
+// only the httpclient managed transitive is included
+if (!includeTransitivesBom.contains("<artifactId>httpcore</artifactId>") || includeTransitivesBom.contains("<artifactId>httpclient</artifactId>") || includeTransitivesBom.contains("<artifactId>commons-text</artifactId>")) {
+  println("VERIFY ERROR: bom-include-transitives-pom.xml should only contain httpcore dependency!")
+  return false
+}
+// the shared dependency graph must not change the generated boms
+def sharedDependencyGraphBom = new File(basedir, "target/bom-shared-dependency-graph-pom.xml").text
+if (bom != sharedDependencyGraphBom.replace("unmanaged-exclusions-shared-dependency-graph-bom", "unmanaged-exclusions-bom")) {
+  println("VERIFY ERROR: bom-shared-dependency-graph-pom.xml differs from bom-pom.xml!")
+  return false
+}
+// concurrent resolution must not change the generated bom
+def resolverThreadsBom = new File(basedir, "target/bom-resolver-threads-pom.xml").text
+if (bom != resolverThreadsBom.replace("unmanaged-exclusions-resolver-threads-bom", "unmanaged-exclusions-bom")) {
+  println("VERIFY ERROR: bom-resolver-threads-pom.xml differs from bom-pom.xml!")
+  return false
+}
+// the 2nd incremental build skipped the BOM generation
+def buildLog = new File(basedir, "build.log").text
+if (buildLog.findAll(/BOM org.wildfly.plugins:unmanaged-exclusions-incremental-bom:\S+ is up to date, skipping its generation/).size() != 1) {
+  println("VERIFY ERROR: the incremental BOM generation was not skipped once!")
+  return false
+}
+def incrementalBom = new File(basedir, "target/bom-incremental-pom.xml").text
+if (bom != incrementalBom.replace("unmanaged-exclusions-incremental-bom", "unmanaged-exclusions-bom")) {
+  println("VERIFY ERROR: bom-incremental-pom.xml differs from bom-pom.xml!")
+  return false
+}
+// metrics were enabled for the concurrent resolution
+def metricsJson = new groovy.json.JsonSlurper().parse(new File(basedir, "target/bom-resolver-threads-pom-metrics.json"))
+if (metricsJson.counters.resolverCalls != 2 || metricsJson.counters.bomManagedDependencies != 3 || metricsJson.phases.exclusionResolution == null) {
+  println("VERIFY ERROR: unexpected metrics " + metricsJson)
+  return false
+}
+// the transitives cache, either when empty or when reused, must not change the generated bom
+def transitivesCacheDir = new File(basedir, "target/bom-builder-cache")
+if (!transitivesCacheDir.isDirectory() || transitivesCacheDir.list().length == 0) {
+  println("VERIFY ERROR: transitives cache directory not found or empty!")
+  return false
+}
+for (String cacheId : ["transitives-cache", "transitives-cached"]) {
+  def transitivesCacheBom = new File(basedir, "target/bom-" + cacheId + "-pom.xml").text
+  if (bom != transitivesCacheBom.replace("unmanaged-exclusions-" + cacheId + "-bom", "unmanaged-exclusions-bom")) {
+    println("VERIFY ERROR: bom-" + cacheId + "-pom.xml differs from bom-pom.xml!")
+    return false
+  }
+}
+def includeTransitivesSharedDependencyGraphBom = new File(basedir, "target/bom-include-transitives-shared-dependency-graph-pom.xml").text
+if (includeTransitivesBom != includeTransitivesSharedDependencyGraphBom.replace("include-transitives-shared-dependency-graph-bom", "include-transitives-bom")) {
+  println("VERIFY ERROR: bom-include-transitives-shared-dependency-graph-pom.xml differs from bom-include-transitives-pom.xml!")
+  return false
+}
+// by default ignored exclusions with wildcards match only the same literal wildcards, thus ignore no resolved exclusion
+def ignoredExclusionsBom = new File(basedir, "target/bom-ignored-exclusions-pom.xml").text
+if (bom != ignoredExclusionsBom.replace("unmanaged-exclusions-ignored-exclusions-bom", "unmanaged-exclusions-bom")) {
+  println("VERIFY ERROR: bom-ignored-exclusions-pom.xml differs from bom-pom.xml!")
+  return false
+}
+// with wildcards enabled the commons-logging:* and *:commons-lang3 ignored exclusions ignore the commons-logging and commons-lang3 exclusions
+def ignoredExclusionsWildcardsBom = new File(basedir, "target/bom-ignored-exclusions-wildcards-pom.xml").text
+if (ignoredExclusionsWildcardsBom.contains("<artifactId>commons-logging</artifactId>") || ignoredExclusionsWildcardsBom.contains("<artifactId>commons-lang3</artifactId>") || !ignoredExclusionsWildcardsBom.contains("<artifactId>commons-codec</artifactId>")) {
+  println("VERIFY ERROR: bom-ignored-exclusions-wildcards-pom.xml should only contain commons-codec exclusion!")
+  return false
+}
+// the BOMs generated by the same execution must not differ from the ones generated separately
+def multipleBom = new File(basedir, "target/bom-multiple-pom.xml").text
+if (bom != multipleBom.replace("unmanaged-exclusions-multiple-bom", "unmanaged-exclusions-bom")) {
+  println("VERIFY ERROR: bom-multiple-pom.xml differs from bom-pom.xml!")
+  return false
+}
+def includeTransitivesMultipleBom = new File(basedir, "target/include-transitives-multiple-bom-pom.xml").text
+if (includeTransitivesBom != includeTransitivesMultipleBom.replace("include-transitives-multiple-bom", "include-transitives-bom")) {
+  println("VERIFY ERROR: include-transitives-multiple-bom-pom.xml differs from bom-include-transitives-pom.xml!")
+  return false
+}
+// httpclient's whole graph was collected once, plus the included transitives, and the 1st level transitives of
+// commons-text and httpclient were collected once each, regardless of the order the concurrent BOMs looked these up
+def multipleBomResolverCalls = 0
+def multipleBomFirstLevelCollections = 0
+for (String metricsFilename : ["bom-multiple-pom-metrics.json", "include-transitives-multiple-bom-pom-metrics.json"]) {
+  def counters = new groovy.json.JsonSlurper().parse(new File(basedir, "target/" + metricsFilename)).counters
+  multipleBomResolverCalls += counters.resolverCalls ?: 0
+  multipleBomFirstLevelCollections += counters.firstLevelCollections ?: 0
+}
+if (multipleBomResolverCalls != 4 || multipleBomFirstLevelCollections != 2) {
+  println("VERIFY ERROR: unexpected resolver calls " + multipleBomResolverCalls + ", with " + multipleBomFirstLevelCollections + " 1st level collections, when generating multiple BOMs")
+  return false
+}
+// the BOMs generated from the replayed resolution snapshot must not differ, and must not resolve anything
+for (String snapshotId : ["recorded", "replayed"]) {
+  def snapshotBom = new File(basedir, "target/bom-snapshot-" + snapshotId + "-pom.xml").text
+  if (bom != snapshotBom.replace("unmanaged-exclusions-snapshot-" + snapshotId + "-bom", "unmanaged-exclusions-bom")) {
+    println("VERIFY ERROR: bom-snapshot-" + snapshotId + "-pom.xml differs from bom-pom.xml!")
+    return false
+  }
+  def includeTransitivesSnapshotBom = new File(basedir, "target/include-transitives-snapshot-" + snapshotId + "-bom-pom.xml").text
+  if (includeTransitivesBom != includeTransitivesSnapshotBom.replace("include-transitives-snapshot-" + snapshotId + "-bom", "include-transitives-bom")) {
+    println("VERIFY ERROR: include-transitives-snapshot-" + snapshotId + "-bom-pom.xml differs from bom-include-transitives-pom.xml!")
+    return false
+  }
+}
+for (String metricsFilename : ["bom-snapshot-replayed-pom-metrics.json", "include-transitives-snapshot-replayed-bom-pom-metrics.json"]) {
+  if (new groovy.json.JsonSlurper().parse(new File(basedir, "target/" + metricsFilename)).counters.resolverCalls) {
+    println("VERIFY ERROR: resolver calls when replaying the resolution snapshot")
+    return false
+  }
+}
+// the version properties are named by the builder and by the configured rule, other are named by groupId
+def versionPropertiesBom = new File(basedir, "target/bom-version-properties-pom.xml").text
+if (!versionPropertiesBom.contains("<version.httpcomponents.core>4.4.16</version.httpcomponents.core>") || !versionPropertiesBom.contains("<version>\${version.httpcomponents.core}</version>")
+    || !versionPropertiesBom.contains("<version.commons>1.12.0</version.commons>") || !versionPropertiesBom.contains("<version>\${version.commons}</version>")
+    || !versionPropertiesBom.contains("<version.org.apache.httpcomponents>4.5.14</version.org.apache.httpcomponents>")) {
+  println("VERIFY ERROR: bom-version-properties-pom.xml does not contain the expected version properties!")
+  return false
+}
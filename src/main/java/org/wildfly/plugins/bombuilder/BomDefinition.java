@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+
+import java.util.List;
+
+/**
+ * A class to represent the configuration of an additional BOM, generated by the same execution of the BOM builder.
+ *
+ * The BOM has the same groupId and version as the one configured in the builder, and any other unset configuration is
+ * inherited from the builder's configuration too.
+ */
+public class BomDefinition {
+
+    private String bomArtifactId;
+
+    private String bomName;
+
+    private String bomDescription;
+
+    private String outputFilename;
+
+    private List<AddExclusion> addExclusions;
+
+    private List<Dependency> excludeDependencies;
+
+    private List<IncludeDependency> includeDependencies;
+
+    private List<IncludeDependency> includeDependenciesTransitives;
+
+    private List<Dependency> importDependencies;
+
+    private List<Dependency> versionRefDependencies;
+
+    private List<Exclusion> ignoredExclusions;
+
+    private List<ScopeOverride> scopeOverrides;
+
+    private InheritExclusions inheritExclusions;
+
+    private Boolean includeTransitives;
+
+    private Boolean bomWithDependencies;
+
+    public String getBomArtifactId() {
+        return bomArtifactId;
+    }
+
+    public void setBomArtifactId(String bomArtifactId) {
+        this.bomArtifactId = bomArtifactId;
+    }
+
+    public String getBomName() {
+        return bomName;
+    }
+
+    public void setBomName(String bomName) {
+        this.bomName = bomName;
+    }
+
+    public String getBomDescription() {
+        return bomDescription;
+    }
+
+    public void setBomDescription(String bomDescription) {
+        this.bomDescription = bomDescription;
+    }
+
+    /**
+     *
+     * @return the BOM output file, if unset then it is the bomArtifactId with a -pom.xml suffix
+     */
+    public String getOutputFilename() {
+        return outputFilename != null ? outputFilename : bomArtifactId + "-pom.xml";
+    }
+
+    public void setOutputFilename(String outputFilename) {
+        this.outputFilename = outputFilename;
+    }
+
+    public List<AddExclusion> getAddExclusions() {
+        return addExclusions;
+    }
+
+    public void setAddExclusions(List<AddExclusion> addExclusions) {
+        this.addExclusions = addExclusions;
+    }
+
+    public List<Dependency> getExcludeDependencies() {
+        return excludeDependencies;
+    }
+
+    public void setExcludeDependencies(List<Dependency> excludeDependencies) {
+        this.excludeDependencies = excludeDependencies;
+    }
+
+    public List<IncludeDependency> getIncludeDependencies() {
+        return includeDependencies;
+    }
+
+    public void setIncludeDependencies(List<IncludeDependency> includeDependencies) {
+        this.includeDependencies = includeDependencies;
+    }
+
+    public List<IncludeDependency> getIncludeDependenciesTransitives() {
+        return includeDependenciesTransitives;
+    }
+
+    public void setIncludeDependenciesTransitives(List<IncludeDependency> includeDependenciesTransitives) {
+        this.includeDependenciesTransitives = includeDependenciesTransitives;
+    }
+
+    public List<Dependency> getImportDependencies() {
+        return importDependencies;
+    }
+
+    public void setImportDependencies(List<Dependency> importDependencies) {
+        this.importDependencies = importDependencies;
+    }
+
+    public List<Dependency> getVersionRefDependencies() {
+        return versionRefDependencies;
+    }
+
+    public void setVersionRefDependencies(List<Dependency> versionRefDependencies) {
+        this.versionRefDependencies = versionRefDependencies;
+    }
+
+    public List<Exclusion> getIgnoredExclusions() {
+        return ignoredExclusions;
+    }
+
+    public void setIgnoredExclusions(List<Exclusion> ignoredExclusions) {
+        this.ignoredExclusions = ignoredExclusions;
+    }
+
+    public List<ScopeOverride> getScopeOverrides() {
+        return scopeOverrides;
+    }
+
+    public void setScopeOverrides(List<ScopeOverride> scopeOverrides) {
+        this.scopeOverrides = scopeOverrides;
+    }
+
+    public InheritExclusions getInheritExclusions() {
+        return inheritExclusions;
+    }
+
+    public void setInheritExclusions(InheritExclusions inheritExclusions) {
+        this.inheritExclusions = inheritExclusions;
+    }
+
+    public Boolean getIncludeTransitives() {
+        return includeTransitives;
+    }
+
+    public void setIncludeTransitives(Boolean includeTransitives) {
+        this.includeTransitives = includeTransitives;
+    }
+
+    public Boolean getBomWithDependencies() {
+        return bomWithDependencies;
+    }
+
+    public void setBomWithDependencies(Boolean bomWithDependencies) {
+        this.bomWithDependencies = bomWithDependencies;
+    }
+}
@@ -23,12 +23,15 @@
 
 package org.wildfly.plugins.bombuilder;
 
+import org.apache.maven.RepositoryUtils;
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.wildfly.channel.Channel;
+import org.wildfly.channel.ChannelManifest;
+import org.wildfly.channel.ChannelManifestCoordinate;
+import org.wildfly.channel.ChannelManifestMapper;
 import org.wildfly.channel.ChannelSession;
 import org.wildfly.channel.UnresolvedMavenArtifactException;
-import org.wildfly.channel.VersionResult;
 import org.wildfly.channel.maven.VersionResolverFactory;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
@@ -51,36 +54,51 @@ import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.DefaultDependencyResolutionRequest;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.project.ProjectDependenciesResolver;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
 import org.eclipse.aether.graph.DependencyFilter;
 import org.eclipse.aether.graph.DependencyNode;
 import org.eclipse.aether.repository.RemoteRepository;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
-import static org.codehaus.plexus.util.StringUtils.defaultString;
 import static org.codehaus.plexus.util.StringUtils.trim;
 import static org.wildfly.channel.maven.VersionResolverFactory.DEFAULT_REPOSITORY_MAPPER;
 
 /**
  * Build a BOM based on the dependencies in a GAV
  */
-@Mojo(name = "build-bom", defaultPhase = LifecyclePhase.GENERATE_RESOURCES, requiresDependencyResolution = ResolutionScope.COMPILE)
+@Mojo(name = "build-bom", defaultPhase = LifecyclePhase.GENERATE_RESOURCES, requiresDependencyCollection = ResolutionScope.COMPILE, threadSafe = true)
 public class BuildBomMojo
         extends AbstractMojo {
 
@@ -189,6 +207,13 @@ public class BuildBomMojo
     @Parameter(alias = "ignored-exclusions")
     private List<Exclusion> ignoredExclusions;
 
+    /**
+     * Set to {@code true} to have the ignored exclusions' {@code *} groupId or artifactId matching any groupId or artifactId, i.e. an ignored exclusion {@code g:*} ignores all exclusions of groupId {@code g}, {@code *:a} ignores all exclusions of artifactId {@code a}, and {@code *:*} ignores all exclusions.
+     * By default an ignored exclusion only ignores exclusions with the same groupId and artifactId, including literal wildcards.
+     */
+    @Parameter(property = "bomIgnoredExclusionsWildcards")
+    private boolean ignoredExclusionsWildcards = false;
+
     /**
      * Which dependency exclusions, present in the source POM, should be included in the BOM:
      *
@@ -216,6 +241,85 @@ public class BuildBomMojo
     @Parameter(defaultValue = "DEPENDENCY_MANAGEMENT")
     private DependencySource dependencySource;
 
+    /**
+     * The strategy to name the properties which define the versions of the BOM's managed dependencies:
+     *
+     *  GROUP - a version.groupId property if all artifacts of the group have the same version, otherwise a version.groupId.artifactId property per artifact
+     *  MAJORITY - a version.groupId property with the version of most artifacts of the group, and a version.groupId.artifactId property per artifact with another version
+     *  BUILDER - the property which defines the dependency version in the builder's dependency management, if none then same as GROUP
+     *
+     * The default value is GROUP.
+     */
+    @Parameter(defaultValue = "GROUP")
+    private VersionPropertyStrategy versionPropertyStrategy = VersionPropertyStrategy.GROUP;
+
+    /**
+     * List of managed dependencies, which may use wildcards, with the name of the property which should define their version, instead of the one named by the versionPropertyStrategy.
+     */
+    @Parameter
+    private List<VersionProperty> versionProperties;
+
+    /**
+     * Set to {@code true} to collect a single dependency graph, with all managed dependencies, and lookup each dependency's transitives in such graph, instead of resolving each dependency's transitives separately.
+     * Note that conflicts are not resolved in such graph, thus a dependency's transitives may include versions and paths which its own resolution would drop, and the BOM's contents may differ from the ones generated without this option.
+     * If collecting such graph fails then each dependency's transitives are resolved separately.
+     */
+    @Parameter(property = "bomSharedDependencyGraph")
+    private boolean sharedDependencyGraph = false;
+
+    /**
+     * The max number of threads used to resolve dependencies, and to lookup their versions on channels, concurrently. The default value is 1, i.e. dependencies are resolved sequentially.
+     */
+    @Parameter(property = "bomResolverThreads", defaultValue = "1")
+    private int resolverThreads = 1;
+
+    /**
+     * Set to {@code true} to persist each dependency's resolved transitives, which are then reused by further builds, as long as the dependency, the builder's dependency management, the exclusions used when resolving, and the dependency's POM in the local repository are unchanged.
+     */
+    @Parameter(property = "bomTransitivesCache")
+    private boolean transitivesCache = false;
+
+    /**
+     * The directory where resolved transitives are persisted, if transitivesCache is enabled.
+     */
+    @Parameter(property = "bomTransitivesCacheDirectory", defaultValue = "${project.build.directory}/bom-builder-cache")
+    private File transitivesCacheDirectory;
+
+    /**
+     * Set to {@code true} to log the time spent in each build phase, and counters such as the number of dependencies processed and resolved, and to also write these as JSON, to a file named as the outputFilename with a -metrics.json suffix.
+     */
+    @Parameter(property = "bomMetrics")
+    private boolean metrics = false;
+
+    /**
+     * Set to {@code true} to skip the BOM generation, and attach the BOM previously generated, if the build inputs are unchanged, i.e. the models of the builder and its parents, the plugin configuration and the channel manifests. Note that changes to the dependencies' POMs, e.g. new transitives, are not detected.
+     */
+    @Parameter(property = "bomIncremental")
+    private boolean incremental = false;
+
+    /**
+     * Set to {@code RECORD} to record the results of all resolutions, i.e. the dependencies' transitives and their latest versions on channels, to the resolutionSnapshotFile, or to {@code REPLAY} to generate the BOM from such results, without resolving any artifact. The default value is NONE.
+     * Note that when recording the BOM is always generated, even if incremental is enabled.
+     */
+    @Parameter(property = "bomResolutionSnapshotMode", defaultValue = "NONE")
+    private ResolutionSnapshotMode resolutionSnapshotMode = ResolutionSnapshotMode.NONE;
+
+    /**
+     * The file where the resolution snapshot is recorded, or replayed from, if resolutionSnapshotMode is set.
+     */
+    @Parameter(property = "bomResolutionSnapshotFile", defaultValue = "${project.build.directory}/bom-resolution-snapshot.txt")
+    private File resolutionSnapshotFile;
+
+    /**
+     * List of additional BOMs to generate, each with the configured bomGroupId and bomVersion, and any unset configuration inherited from this execution's configuration.
+     * All BOMs are generated concurrently, and share the resolution of the builder's dependencies, as long as the resolution is the same, e.g. due to same excludeDependencies.
+     */
+    @Parameter
+    private List<BomDefinition> boms;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    private String pluginVersion;
+
     /**
      * The current project
      */
@@ -234,12 +338,21 @@ public class BuildBomMojo
     @Parameter( defaultValue = "${project.remoteProjectRepositories}", readonly = true, required = true )
     private List<RemoteRepository> repositories;
 
-    @Component
-    private ProjectDependenciesResolver projectDependenciesResolver;
-
     private final PomDependencyVersionsTransformer versionsTransformer;
     private final ModelWriter modelWriter;
 
+    private DependencyMatcher<Dependency> excludeDependenciesMatcher;
+    private DependencyMatcher<IncludeDependency> includeDependenciesMatcher;
+    private DependencyMatcher<IncludeDependency> includeDependenciesTransitivesMatcher;
+    private DependencyMatcher<Dependency> importDependenciesMatcher;
+    private DependencyMatcher<ScopeOverride> scopeOverridesMatcher;
+    private DependencyMatcher<VersionProperty> versionPropertiesMatcher;
+    private ExclusionIndex ignoredExclusionsIndex;
+    private ExecutionMetrics executionMetrics;
+    private final Map<String, DependencyTransitivesResolver> transitivesResolvers;
+    private BuilderHierarchy builderHierarchy;
+    private ResolutionSnapshot resolutionSnapshot;
+
 
     @Parameter(alias = "channels", required = false)
     private List<ChannelConfiguration> channels;
@@ -251,16 +364,289 @@ public class BuildBomMojo
     public BuildBomMojo(ModelWriter modelWriter, PomDependencyVersionsTransformer versionsTransformer) {
         this.versionsTransformer = versionsTransformer;
         this.modelWriter = modelWriter;
+        // only used by the copies executed
+        this.transitivesResolvers = null;
+    }
+
+    /**
+     * Creates a mojo generating an additional BOM, with the specified mojo's configuration, overridden by the BOM's definition.
+     * @param mojo the mojo
+     * @param bom the additional BOM's definition
+     */
+    private BuildBomMojo(BuildBomMojo mojo, BomDefinition bom) {
+        // share the transitives resolution with the mojo
+        this(mojo, bom, mojo.transitivesResolvers);
+    }
+
+    /**
+     * Creates a mojo with the specified mojo's configuration, overridden by the BOM's definition.
+     * @param mojo the mojo
+     * @param bom the BOM's definition, without a bomArtifactId to generate the same BOM as the specified mojo
+     * @param transitivesResolvers the transitives resolvers to use
+     */
+    private BuildBomMojo(BuildBomMojo mojo, BomDefinition bom, Map<String, DependencyTransitivesResolver> transitivesResolvers) {
+        this.versionsTransformer = mojo.versionsTransformer;
+        this.modelWriter = mojo.modelWriter;
+        this.transitivesResolvers = transitivesResolvers;
+        setLog(mojo.getLog());
+        this.parent = mojo.parent;
+        this.bomGroupId = mojo.bomGroupId;
+        this.bomArtifactId = bom.getBomArtifactId() != null ? bom.getBomArtifactId() : mojo.bomArtifactId;
+        this.bomVersion = mojo.bomVersion;
+        this.bomName = bom.getBomName() != null ? bom.getBomName() : mojo.bomName;
+        this.bomDescription = bom.getBomDescription() != null ? bom.getBomDescription() : mojo.bomDescription;
+        this.licenses = mojo.licenses;
+        this.outputFilename = bom.getBomArtifactId() != null ? bom.getOutputFilename() : mojo.outputFilename;
+        this.addExclusions = bom.getAddExclusions() != null ? bom.getAddExclusions() : mojo.addExclusions;
+        this.excludeDependencies = bom.getExcludeDependencies() != null ? bom.getExcludeDependencies() : mojo.excludeDependencies;
+        this.includeDependencies = bom.getIncludeDependencies() != null ? bom.getIncludeDependencies() : mojo.includeDependencies;
+        this.includeDependenciesTransitives = bom.getIncludeDependenciesTransitives() != null ? bom.getIncludeDependenciesTransitives() : mojo.includeDependenciesTransitives;
+        this.importDependencies = bom.getImportDependencies() != null ? bom.getImportDependencies() : mojo.importDependencies;
+        this.versionRefDependencies = bom.getVersionRefDependencies() != null ? bom.getVersionRefDependencies() : mojo.versionRefDependencies;
+        this.includeTransitives = bom.getIncludeTransitives() != null ? bom.getIncludeTransitives() : mojo.includeTransitives;
+        this.bomWithDependencies = bom.getBomWithDependencies() != null ? bom.getBomWithDependencies() : mojo.bomWithDependencies;
+        this.ignoredExclusions = bom.getIgnoredExclusions() != null ? bom.getIgnoredExclusions() : mojo.ignoredExclusions;
+        this.ignoredExclusionsWildcards = mojo.ignoredExclusionsWildcards;
+        this.inheritExclusions = bom.getInheritExclusions() != null ? bom.getInheritExclusions() : mojo.inheritExclusions;
+        this.includeProfiles = mojo.includeProfiles;
+        this.includePlugins = mojo.includePlugins;
+        this.includeRepositories = mojo.includeRepositories;
+        this.scopeOverrides = bom.getScopeOverrides() != null ? bom.getScopeOverrides() : mojo.scopeOverrides;
+        this.dependencySource = mojo.dependencySource;
+        this.versionPropertyStrategy = mojo.versionPropertyStrategy;
+        this.versionProperties = mojo.versionProperties;
+        this.sharedDependencyGraph = mojo.sharedDependencyGraph;
+        this.resolverThreads = mojo.resolverThreads;
+        this.transitivesCache = mojo.transitivesCache;
+        this.transitivesCacheDirectory = mojo.transitivesCacheDirectory;
+        this.metrics = mojo.metrics;
+        this.incremental = mojo.incremental;
+        this.boms = mojo.boms;
+        this.resolutionSnapshotMode = mojo.resolutionSnapshotMode;
+        this.resolutionSnapshotFile = mojo.resolutionSnapshotFile;
+        this.pluginVersion = mojo.pluginVersion;
+        this.mavenProject = mojo.mavenProject;
+        this.artifactHandlerManager = mojo.artifactHandlerManager;
+        this.repositorySystemSession = mojo.repositorySystemSession;
+        this.repositorySystem = mojo.repositorySystem;
+        this.repositories = mojo.repositories;
+        this.channels = mojo.channels;
+        this.builderHierarchy = mojo.builderHierarchy;
+        // all BOMs record to, or replay from, the same snapshot
+        this.resolutionSnapshot = mojo.resolutionSnapshot;
     }
 
     public void execute()
             throws MojoExecutionException {
+        // the execution state is kept by a copy of this mojo, thus the configuration is never modified, and the mojo is reentrant
+        new BuildBomMojo(this, new BomDefinition(), new ConcurrentHashMap<>()).executeCopy();
+    }
+
+    private void executeCopy() throws MojoExecutionException {
+        // the builder's parents are traversed on demand, only once, even if multiple BOMs are generated
+        builderHierarchy = new BuilderHierarchy(mavenProject);
+        resolutionSnapshot = createResolutionSnapshot();
+        if (boms == null || boms.isEmpty()) {
+            generateBom();
+        } else {
+            generateBoms();
+        }
+        if (resolutionSnapshotMode == ResolutionSnapshotMode.RECORD) {
+            writeResolutionSnapshot();
+        }
+    }
+
+    private void generateBoms() throws MojoExecutionException {
+        final List<BuildBomMojo> bomMojos = new ArrayList<>();
+        bomMojos.add(this);
+        final Set<String> outputFilenames = new HashSet<>();
+        outputFilenames.add(outputFilename);
+        for (BomDefinition bom : boms) {
+            if (bom.getBomArtifactId() == null) {
+                throw new MojoExecutionException("No bomArtifactId was set for an additional BOM");
+            }
+            if (!outputFilenames.add(bom.getOutputFilename())) {
+                throw new MojoExecutionException("The output file " + bom.getOutputFilename() + " of the BOM " + bom.getBomArtifactId() + " is already used by another BOM");
+            }
+            bomMojos.add(new BuildBomMojo(this, bom));
+        }
+        getLog().info("Generating " + bomMojos.size() + " BOMs...");
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (BuildBomMojo bomMojo : bomMojos) {
+            tasks.add(() -> {
+                bomMojo.generateBom();
+                return null;
+            });
+        }
+        invokeAll(tasks, tasks.size());
+    }
+
+    private ResolutionSnapshot createResolutionSnapshot() throws MojoExecutionException {
+        switch (resolutionSnapshotMode) {
+            case RECORD:
+                return new ResolutionSnapshot();
+            case REPLAY:
+                getLog().info("Replaying resolution snapshot " + resolutionSnapshotFile);
+                try (BufferedReader reader = Files.newBufferedReader(resolutionSnapshotFile.toPath(), StandardCharsets.UTF_8)) {
+                    return ResolutionSnapshot.read(reader);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Failed to read the resolution snapshot " + resolutionSnapshotFile, e);
+                }
+            default:
+                return null;
+        }
+    }
+
+    private void writeResolutionSnapshot() throws MojoExecutionException {
+        try {
+            Files.createDirectories(resolutionSnapshotFile.getAbsoluteFile().getParentFile().toPath());
+            try (Writer writer = Files.newBufferedWriter(resolutionSnapshotFile.toPath(), StandardCharsets.UTF_8)) {
+                resolutionSnapshot.write(writer);
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to write the resolution snapshot " + resolutionSnapshotFile, e);
+        }
+        getLog().info("Resolution snapshot recorded to " + resolutionSnapshotFile);
+    }
+
+    private void generateBom() throws MojoExecutionException {
         if (getLog().isDebugEnabled()) {
-            getLog().debug("Generating BOM");
+            getLog().debug("Generating BOM " + bomGroupId + ":" + bomArtifactId + ":" + bomVersion);
+        }
+        executionMetrics = new ExecutionMetrics();
+        final File file = new File(mavenProject.getBuild().getDirectory(), outputFilename);
+        final File fingerprintFile = new File(mavenProject.getBuild().getDirectory(), outputFilename + ".fingerprint");
+        String fingerprint = null;
+        // a recorded snapshot should have all resolutions, thus the BOM is always generated
+        if (incremental && resolutionSnapshotMode != ResolutionSnapshotMode.RECORD) {
+            fingerprint = computeFingerprint();
+            if (file.isFile() && fingerprint.equals(readFingerprint(fingerprintFile))) {
+                getLog().info("BOM " + bomGroupId + ":" + bomArtifactId + ":" + bomVersion + " is up to date, skipping its generation");
+                attachBom(file);
+                return;
+            }
+        }
+        // the BOM will be regenerated, thus any previous fingerprint is stale
+        if (fingerprintFile.exists() && !fingerprintFile.delete()) {
+            throw new MojoExecutionException("Failed to delete the stale BOM fingerprint " + fingerprintFile);
         }
+        initializeDependencyMatchers();
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_INITIALIZE_MODEL);
         Model model = initializeModel();
         addDependencyManagement(model);
-        finalizeModel(model);
+        finalizeModel(model, file);
+        executionMetrics.end();
+        if (fingerprint != null) {
+            writeFingerprint(fingerprintFile, fingerprint);
+        }
+        if (metrics) {
+            reportMetrics();
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the build inputs, i.e. the models of the builder and its parents, the plugin configuration and the channel manifests.
+     * @return the fingerprint
+     * @throws MojoExecutionException if the fingerprint computation failed
+     */
+    private String computeFingerprint() throws MojoExecutionException {
+        final BuildFingerprint fingerprint = new BuildFingerprint();
+        try {
+            for (MavenProject current : builderHierarchy.getProjects()) {
+                fingerprint.add("model", current.getModel());
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to compute the fingerprint of the builder's model", e);
+        }
+        fingerprint.add("pluginVersion", pluginVersion)
+                .add("parent", parent == null ? null : parent.getGroupId() + ":" + parent.getArtifactId() + ":" + parent.getVersion() + ":" + parent.getRelativePath())
+                .add("bomGroupId", bomGroupId)
+                .add("bomArtifactId", bomArtifactId)
+                .add("bomVersion", bomVersion)
+                .add("bomName", bomName)
+                .add("bomDescription", bomDescription)
+                .add("licenses", licenses)
+                .add("addExclusions", addExclusions)
+                .add("excludeDependencies", excludeDependencies)
+                .add("includeDependencies", includeDependencies)
+                .add("includeDependenciesTransitives", includeDependenciesTransitives)
+                .add("importDependencies", importDependencies)
+                .add("versionRefDependencies", versionRefDependencies)
+                .add("includeTransitives", includeTransitives)
+                .add("bomWithDependencies", bomWithDependencies)
+                .add("ignoredExclusions", ignoredExclusions)
+                .add("ignoredExclusionsWildcards", ignoredExclusionsWildcards)
+                .add("inheritExclusions", inheritExclusions)
+                .add("includeProfiles", includeProfiles == null ? null : new TreeSet<>(includeProfiles))
+                .add("includePlugins", includePlugins == null ? null : new TreeSet<>(includePlugins))
+                .add("includeRepositories", includeRepositories == null ? null : new TreeSet<>(includeRepositories))
+                .add("scopeOverrides", scopeOverrides)
+                .add("dependencySource", dependencySource)
+                .add("versionPropertyStrategy", versionPropertyStrategy)
+                .add("versionProperties", versionProperties)
+                .add("sharedDependencyGraph", sharedDependencyGraph)
+                .add("channels", channels)
+                .add("resolutionSnapshotMode", resolutionSnapshotMode);
+        if (resolutionSnapshotMode == ResolutionSnapshotMode.REPLAY) {
+            // the snapshot replaces the channel manifests, and the resolution of dependencies
+            try {
+                fingerprint.add("resolutionSnapshot", new String(Files.readAllBytes(resolutionSnapshotFile.toPath()), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to compute the fingerprint of the resolution snapshot", e);
+            }
+        } else if (channels != null) {
+            final List<String> manifests = new ArrayList<>();
+            try {
+                for (ChannelManifest manifest : getChannelSession().getManifests()) {
+                    manifests.add(ChannelManifestMapper.toYaml(manifest));
+                }
+            } catch (IOException e) {
+                throw new MojoExecutionException("Failed to compute the fingerprint of the channel manifests", e);
+            }
+            fingerprint.add("channelManifests", manifests);
+        }
+        return fingerprint.toHexString();
+    }
+
+    private String readFingerprint(File fingerprintFile) {
+        if (!fingerprintFile.isFile()) {
+            return null;
+        }
+        try {
+            return new String(Files.readAllBytes(fingerprintFile.toPath()), StandardCharsets.UTF_8).trim();
+        } catch (IOException e) {
+            getLog().warn("Failed to read the BOM fingerprint from " + fingerprintFile, e);
+            return null;
+        }
+    }
+
+    private void writeFingerprint(File fingerprintFile, String fingerprint) {
+        try {
+            Files.write(fingerprintFile.toPath(), fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            getLog().warn("Failed to write the BOM fingerprint to " + fingerprintFile, e);
+        }
+    }
+
+    private void reportMetrics() {
+        executionMetrics.log(getLog());
+        final String metricsFilename = (outputFilename.endsWith(".xml") ? outputFilename.substring(0, outputFilename.length() - 4) : outputFilename) + "-metrics.json";
+        final File file = new File(mavenProject.getBuild().getDirectory(), metricsFilename);
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            executionMetrics.writeJson(bomGroupId + ":" + bomArtifactId + ":" + bomVersion, writer);
+        } catch (IOException e) {
+            getLog().warn("Failed to write BOM build metrics to " + file, e);
+        }
+    }
+
+    private void initializeDependencyMatchers() {
+        excludeDependenciesMatcher = new DependencyMatcher<>(excludeDependencies);
+        includeDependenciesMatcher = new DependencyMatcher<>(includeDependencies);
+        includeDependenciesTransitivesMatcher = new DependencyMatcher<>(includeDependenciesTransitives);
+        importDependenciesMatcher = new DependencyMatcher<>(importDependencies);
+        scopeOverridesMatcher = new DependencyMatcher<>(scopeOverrides);
+        versionPropertiesMatcher = new DependencyMatcher<>(versionProperties);
+        ignoredExclusionsIndex = ExclusionIndex.of(ignoredExclusions, ignoredExclusionsWildcards);
     }
 
     private Model initializeModel() {
@@ -287,38 +673,24 @@ public class BuildBomMojo
             if (parent.getArtifactId() == null) {
                 throw new IllegalArgumentException("No artifactId was set for the parent");
             }
-            if (parent.getVersion() == null) {
-                MavenProject current = mavenProject;
-                while (current != null) {
-                    if (current.getGroupId().equals(parent.getGroupId()) && current.getArtifactId().equals(parent.getArtifactId())) {
-                        parent.setVersion(current.getVersion());
-                        break;
-                    }
-                    current = current.getParent();
-                }
-                if (parent.getVersion() == null) {
+            // the configured parent is not modified, it may be shared with BOMs generated concurrently
+            final Parent bomParent = parent.clone();
+            if (bomParent.getVersion() == null) {
+                bomParent.setVersion(builderHierarchy.getVersion(parent.getGroupId(), parent.getArtifactId()));
+                if (bomParent.getVersion() == null) {
                     throw new IllegalArgumentException("No version was set for the parent " + parent.getGroupId() + ":" + parent.getArtifactId() +
                             " and it cannot be determined from the parents of the consuming pom");
                 }
             }
-            pomModel.setParent(parent);
+            pomModel.setParent(bomParent);
         }
 
         if (includeProfiles != null && !includeProfiles.isEmpty()) {
-            Set<String> addedProfiles = new HashSet<>();
             List<Profile> profiles = new ArrayList<>();
-            MavenProject current = mavenProject;
-            while (current != null) {
-                Model currModel = current.getModel();
-                if (currModel != null && currModel.getProfiles() != null) {
-                    for (Profile profile : currModel.getProfiles()) {
-                        if (includeProfiles.contains(profile.getId()) && !addedProfiles.contains(profile.getId())) {
-                            profiles.add(profile);
-                            addedProfiles.add(profile.getId());
-                        }
-                    }
+            for (Profile profile : builderHierarchy.getProfiles().values()) {
+                if (includeProfiles.contains(profile.getId())) {
+                    profiles.add(profile);
                 }
-                current = current.getParent();
             }
             if (profiles.size() > 0) {
                 pomModel.setProfiles(profiles);
@@ -326,32 +698,17 @@ public class BuildBomMojo
         }
 
         if (includeRepositories != null) {
-            Set<String> addedRepositories = new HashSet<>();
-            Set<String> addedPluginRepositories = new HashSet<>();
             List<Repository> repositories = new ArrayList<>();
+            for (Repository repository : builderHierarchy.getRepositories().values()) {
+                if (includeRepositories.isEmpty() || includeRepositories.contains(repository.getId())) {
+                    repositories.add(repository);
+                }
+            }
             List<Repository> pluginRepositories = new ArrayList<>();
-            MavenProject current = mavenProject;
-            while (current != null) {
-                Model currModel = current.getModel();
-                if (currModel != null) {
-                    if (currModel.getRepositories() != null) {
-                        for (Repository repository : currModel.getRepositories()) {
-                            if ((includeRepositories.isEmpty() || includeRepositories.contains(repository.getId())) && !addedRepositories.contains(repository.getId())) {
-                                repositories.add(repository);
-                                addedRepositories.add(repository.getId());
-                            }
-                        }
-                    }
-                    if (currModel.getPluginRepositories() != null) {
-                        for (Repository pluginRepository : currModel.getPluginRepositories()) {
-                            if ((includeRepositories.isEmpty() || includeRepositories.contains(pluginRepository.getId())) && !addedPluginRepositories.contains(pluginRepository.getId())) {
-                                pluginRepositories.add(pluginRepository);
-                                addedPluginRepositories.add(pluginRepository.getId());
-                            }
-                        }
-                    }
+            for (Repository pluginRepository : builderHierarchy.getPluginRepositories().values()) {
+                if (includeRepositories.isEmpty() || includeRepositories.contains(pluginRepository.getId())) {
+                    pluginRepositories.add(pluginRepository);
                 }
-                current = current.getParent();
             }
             if (repositories.size() > 0) {
                 pomModel.setRepositories(repositories);
@@ -364,28 +721,15 @@ public class BuildBomMojo
         if (includePlugins != null && !includePlugins.isEmpty()) {
             Set<String> addedPlugins = new HashSet<>();
             List<Plugin> plugins = new ArrayList<>();
-            MavenProject current = mavenProject;
-            while (current != null) {
-                Model currModel = current.getModel();
-                if (currModel != null) {
-                    final Build build = currModel.getBuild();
-                    if (build != null) {
-                        final PluginManagement pluginManagement = build.getPluginManagement();
-                        if (pluginManagement != null && pluginManagement.getPlugins() != null) {
-                            for (Plugin plugin : pluginManagement.getPlugins()) {
-                                if (includePlugins.contains(plugin.getArtifactId()) && addedPlugins.add(plugin.getArtifactId())) {
-                                    plugins.add(plugin);
-                                } else {
-                                    final String ga = plugin.getGroupId()+":"+plugin.getArtifactId();
-                                    if (includePlugins.contains(ga) && addedPlugins.add(ga)) {
-                                        plugins.add(plugin);
-                                    }
-                                }
-                            }
-                        }
+            for (Plugin plugin : builderHierarchy.getManagedPlugins()) {
+                if (includePlugins.contains(plugin.getArtifactId()) && addedPlugins.add(plugin.getArtifactId())) {
+                    plugins.add(plugin);
+                } else {
+                    final String ga = plugin.getGroupId()+":"+plugin.getArtifactId();
+                    if (includePlugins.contains(ga) && addedPlugins.add(ga)) {
+                        plugins.add(plugin);
                     }
                 }
-                current = current.getParent();
             }
             if (plugins.size() > 0) {
                 Build build = pomModel.getBuild();
@@ -405,24 +749,78 @@ public class BuildBomMojo
         return pomModel;
     }
 
-    private void finalizeModel(Model model) throws MojoExecutionException {
+    private void finalizeModel(Model model, File file) throws MojoExecutionException {
         // if dep management was generated replace versions with properties
         if (model.getDependencyManagement() != null){
-            model = versionsTransformer.transformPomModel(model);
+            executionMetrics.startPhase(ExecutionMetrics.PHASE_VERSION_TRANSFORMATION);
+            // the model is owned by this execution, no need to transform a copy of it
+            versionsTransformer.transformDependencyVersions(model, versionPropertyStrategy, versionPropertiesMatcher, versionPropertyStrategy == VersionPropertyStrategy.BUILDER ? getBuilderVersionProperties() : null);
             if (getLog().isDebugEnabled()) {
                 getLog().debug("Dependencies versions converted to properties");
             }
         }
         // write pom
-        final File file = new File(mavenProject.getBuild().getDirectory(), outputFilename);
-        modelWriter.writeModel(model, file);
-        // attach the artifact
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_WRITE);
+        if (!modelWriter.writeModel(model, file)) {
+            getLog().info("BOM " + bomGroupId + ":" + bomArtifactId + ":" + bomVersion + " is unchanged, " + file + " not rewritten");
+        }
+        attachBom(file);
+    }
+
+    /**
+     * Retrieves the names of the properties which define the versions of the builder's dependencies, i.e. the
+     * dependencies of the builder, and its parents, original models, with a version which is a single property expression.
+     * @return the property names, mapped by the dependencies management key
+     */
+    private Map<String, String> getBuilderVersionProperties() {
+        final Map<String, String> builderVersionProperties = new HashMap<>();
+        final Set<String> declaredDependencies = new HashSet<>();
+        for (MavenProject current : builderHierarchy.getProjects()) {
+            final Model originalModel = current.getOriginalModel();
+            if (originalModel != null) {
+                final List<Dependency> dependencies = dependencySource == DependencySource.PROJECT_DEPENDENCIES ? originalModel.getDependencies() : originalModel.getDependencyManagement() != null ? originalModel.getDependencyManagement().getDependencies() : null;
+                if (dependencies != null) {
+                    for (Dependency dependency : dependencies) {
+                        // a dependency declared by a child overrides the parent's
+                        if (declaredDependencies.add(dependency.getManagementKey())) {
+                            final String propertyName = getVersionPropertyName(dependency.getVersion());
+                            if (propertyName != null) {
+                                builderVersionProperties.put(dependency.getManagementKey(), propertyName);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return builderVersionProperties;
+    }
+
+    /**
+     *
+     * @param version a version
+     * @return the name of the property, if the version is a single property expression, and the property is not a model or environment one, otherwise null
+     */
+    private static String getVersionPropertyName(String version) {
+        if (version == null || !version.startsWith("${") || !version.endsWith("}") || version.indexOf('$', 1) >= 0) {
+            return null;
+        }
+        final String propertyName = version.substring(2, version.length() - 1).trim();
+        if (propertyName.isEmpty() || propertyName.startsWith("project.") || propertyName.startsWith("pom.") || propertyName.startsWith("parent.") || propertyName.startsWith("env.") || propertyName.startsWith("settings.")) {
+            return null;
+        }
+        return propertyName;
+    }
+
+    private void attachBom(File file) {
         final Artifact pomArtifact =
                 new DefaultArtifact(
                         bomGroupId, bomArtifactId, bomVersion,
                         null, "pom", null, artifactHandlerManager.getArtifactHandler("pom"));
         pomArtifact.setFile(file);
-        mavenProject.addAttachedArtifact( pomArtifact );
+        // BOMs may be generated concurrently
+        synchronized (mavenProject) {
+            mavenProject.addAttachedArtifact( pomArtifact );
+        }
     }
 
     private List<Dependency> getDependencies() {
@@ -440,42 +838,28 @@ public class BuildBomMojo
         if (dependencies == null) {
             return;
         }
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_MANAGED_DEPENDENCIES);
         pomModel.setDependencyManagement(new DependencyManagement());
         // gather initial managed deps from source
         final Map<String, Dependency> managedDependenciesMap = new TreeMap<>();
         final List<String> orderedManagedDependencies = new ArrayList<>();
         final Set<String> managedExclusions = new HashSet<>();
-        final List<String> includedManagedDependencies = new ArrayList<>();
-        final List<String> includedManagedDependenciesWithTransitives = new ArrayList<>();
-        ChannelSession channelSession = null;
-        if (this.channels != null) {
-            DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
-            final List<Channel> channels = new ArrayList<>();
-            session.setLocalRepositoryManager(repositorySystemSession.getLocalRepositoryManager());
-            session.setOffline(repositorySystemSession.isOffline());
-            Map<String, RemoteRepository> mapping = new HashMap<>();
-            for (RemoteRepository r : repositories) {
-                mapping.put(r.getId(), r);
-            }
-            for (ChannelConfiguration channelConfiguration : this.channels) {
-                channels.add(channelConfiguration.toChannel(repositories));
-            }
-            Function<org.wildfly.channel.Repository, RemoteRepository> mapper = r -> {
-                RemoteRepository rep = mapping.get(r.getId());
-                if (rep == null) {
-                    rep = DEFAULT_REPOSITORY_MAPPER.apply(r);
-                }
-                return rep;
-            };
-            VersionResolverFactory factory = new VersionResolverFactory(repositorySystem, session, mapper);
-            channelSession = new ChannelSession(channels, factory);
-        }
+        final IncludedDependencies includedManagedDependencies = new IncludedDependencies();
+        // when replaying a snapshot the channel manifests are not loaded
+        final ChannelSession channelSession = this.channels != null && !isResolutionSnapshotReplay() ? getChannelSession() : null;
+        final List<Dependency> builderManagedDependencies = new ArrayList<>();
         for (Dependency dependency : dependencies) {
             if (isExcludedDependency(dependency) && getIncludedTransitiveDependency(dependency) == null) {
                 getLog().info("Skipping dependency excluded by config: "+dependency.getManagementKey());
                 continue;
             }
-            addBuilderManagedDependency(dependency, orderedManagedDependencies, managedDependenciesMap, includedManagedDependencies, includedManagedDependenciesWithTransitives, managedExclusions, channelSession);
+            builderManagedDependencies.add(dependency);
+        }
+        // if channels are configured then use them to lookup all dependencies, to obtain any version update
+        final Map<String, String> channelVersions = findLatestVersionsOnChannels(builderManagedDependencies, channelSession);
+        executionMetrics.add(ExecutionMetrics.COUNTER_BUILDER_DEPENDENCIES, builderManagedDependencies.size());
+        for (Dependency dependency : builderManagedDependencies) {
+            addBuilderManagedDependency(dependency, orderedManagedDependencies, managedDependenciesMap, includedManagedDependencies, managedExclusions, channelVersions);
         }
         // build a dep management clone with no exclusions, this just enforces versions and should be used when resolving transitives for a single dependency
         final List<Dependency> dependencyManagementWithoutExclusions = new ArrayList<>();
@@ -491,11 +875,19 @@ public class BuildBomMojo
                 Exclusion exclusion = new Exclusion();
                 exclusion.setGroupId(excludedDependency.getGroupId());
                 exclusion.setArtifactId(excludedDependency.getArtifactId());
-                if (!isIgnoredExclusion(exclusion)) {
+                if (!ignoredExclusionsIndex.matches(exclusion)) {
                     dependenciesExcludedFromResolving.add(exclusion);
                 }
             }
         }
+        // BOMs resolving with the same exclusions and dependency management share the resolver
+        final DependencyTransitivesResolver transitivesResolver = transitivesResolvers.computeIfAbsent(DependencyTransitivesResolver.getConfigurationKey(dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions),
+                k -> new DependencyTransitivesResolver(mavenProject, repositorySystem, repositorySystemSession, repositories, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions, transitivesCache ? transitivesCacheDirectory : null, resolutionSnapshot, getLog()));
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_TRANSITIVE_RESOLUTION);
+        // if enabled, and transitives lookups are needed, collect the shared dependency graph
+        if (sharedDependencyGraph && (includeDependenciesTransitives != null || !managedExclusions.isEmpty())) {
+            transitivesResolver.collectSharedDependencyGraph(executionMetrics);
+        }
         // include transitives of dependencies
         if (includeDependenciesTransitives != null) {
             for (IncludeDependency includeDependencyTransitives : includeDependenciesTransitives) {
@@ -508,15 +900,14 @@ public class BuildBomMojo
                     managedDependenciesMap.remove(dependency.getManagementKey());
                 }
                 // retrieve and include the dependency transitives
-                for (Dependency dependencyTransitive : getDependencyFirstLevelTransitives(dependency, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions)) {
+                for (Dependency dependencyTransitive : transitivesResolver.getFirstLevelTransitives(dependency, executionMetrics)) {
                     if (!managedDependenciesMap.containsKey(dependencyTransitive.getManagementKey()) || isExcludedDependency(dependencyTransitive)) {
                         // skip unmanaged or excluded
                         continue;
                     }
                     final String managementKey = dependencyTransitive.getManagementKey();
-                    includedManagedDependencies.add(managementKey);
+                    includedManagedDependencies.include(managementKey, transitive);
                     if (transitive) {
-                        includedManagedDependenciesWithTransitives.add(managementKey);
                         getLog().debug("Dependency transitive included (with transitives) by config: "+managementKey);
                     } else {
                         getLog().debug("Dependency transitive included (without transitives) by config: "+managementKey);
@@ -524,15 +915,31 @@ public class BuildBomMojo
                 }
             }
         }
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_MANAGED_DEPENDENCIES);
         // add version refs
         if (versionRefDependencies != null) {
-            for (Dependency dependency : versionRefDependencies) {
-                Dependency versionRef = managedDependenciesMap.get(dependency.getVersion());
-                if (versionRef == null) {
-                    throw new MojoExecutionException("Dependency "+dependency.getManagementKey()+" version ref "+dependency.getVersion()+" not found");
+            int next = 0;
+            while (next < versionRefDependencies.size()) {
+                // the configured dependencies may be shared with other BOMs, thus resolve the versions refs on copies
+                final List<Dependency> resolvedVersionRefDependencies = new ArrayList<>();
+                final Set<String> resolvedVersionRefKeys = new HashSet<>();
+                // a version ref to a dependency of the batch ends it, since the dependency must be added, with its channel version, before the ref is resolved
+                for (; next < versionRefDependencies.size() && !resolvedVersionRefKeys.contains(versionRefDependencies.get(next).getVersion()); next++) {
+                    final Dependency dependency = versionRefDependencies.get(next);
+                    Dependency versionRef = managedDependenciesMap.get(dependency.getVersion());
+                    if (versionRef == null) {
+                        throw new MojoExecutionException("Dependency "+dependency.getManagementKey()+" version ref "+dependency.getVersion()+" not found");
+                    }
+                    final Dependency resolvedVersionRefDependency = dependency.clone();
+                    resolvedVersionRefDependency.setVersion(versionRef.getVersion());
+                    resolvedVersionRefDependencies.add(resolvedVersionRefDependency);
+                    resolvedVersionRefKeys.add(resolvedVersionRefDependency.getManagementKey());
+                }
+                final Map<String, String> versionRefChannelVersions = findLatestVersionsOnChannels(resolvedVersionRefDependencies, channelSession);
+                executionMetrics.add(ExecutionMetrics.COUNTER_BUILDER_DEPENDENCIES, resolvedVersionRefDependencies.size());
+                for (Dependency dependency : resolvedVersionRefDependencies) {
+                    addBuilderManagedDependency(dependency, orderedManagedDependencies, managedDependenciesMap, includedManagedDependencies, managedExclusions, versionRefChannelVersions);
                 }
-                dependency.setVersion(versionRef.getVersion());
-                addBuilderManagedDependency(dependency, orderedManagedDependencies, managedDependenciesMap, includedManagedDependencies, includedManagedDependenciesWithTransitives, managedExclusions, channelSession);
             }
         }
         // verify all included dependencies were found
@@ -543,11 +950,33 @@ public class BuildBomMojo
                     continue;
                 }
                 final String dependencyKey = includeDependency.getManagementKey();
-                if (!includedManagedDependencies.contains(dependencyKey) && !includedManagedDependenciesWithTransitives.contains(dependencyKey)) {
+                if (!includedManagedDependencies.contains(dependencyKey)) {
                     throw new MojoExecutionException("Dependency to include "+dependencyKey+" not found in builder's dependency management");
                 }
             }
         }
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_EXCLUSION_RESOLUTION);
+        // resolve the wildcard exclusions of managed deps inheriting unmanaged exclusions, which may be done concurrently
+        final List<String> unmanagedDependencies = new ArrayList<>();
+        final List<Callable<Map<String, Exclusion>>> resolveExclusionsTasks = new ArrayList<>();
+        for (Dependency dependency : managedDependenciesMap.values()) {
+            if (getInheritExclusions(dependency) == InheritExclusions.UNMANAGED && hasWildcardExclusion(dependency)) {
+                unmanagedDependencies.add(dependency.getManagementKey());
+                resolveExclusionsTasks.add(() -> resolveExclusions(dependency, transitivesResolver));
+            }
+        }
+        final List<Map<String, Exclusion>> resolveExclusionsResults = invokeAll(resolveExclusionsTasks);
+        final Map<String, Map<String, Exclusion>> unmanagedDependenciesResolvedExclusions = new HashMap<>();
+        for (int i = 0; i < unmanagedDependencies.size(); i++) {
+            unmanagedDependenciesResolvedExclusions.put(unmanagedDependencies.get(i), resolveExclusionsResults.get(i));
+        }
+        // exclusions of managed artifacts, and ignored exclusions, are removed from the resolved exclusions
+        final ExclusionIndex removedExclusionsIndex = new ExclusionIndex(ignoredExclusionsIndex);
+        for (String managedExclusion : managedExclusions) {
+            removedExclusionsIndex.add(managedExclusion);
+        }
+        // exclusions without wildcards need no resolution, thus are filtered once per distinct exclusions list
+        final Map<String, List<Exclusion>> filteredExclusionsByExclusions = new HashMap<>();
         // process managed dep exclusions
         for (Dependency dependency : managedDependenciesMap.values()) {
             switch (getInheritExclusions(dependency)) {
@@ -558,75 +987,15 @@ public class BuildBomMojo
                     break;
                 case UNMANAGED:
                     if (!dependency.getExclusions().isEmpty()) {
-                        // resolve wildcards
-                        final Map<String, Exclusion> resolvedExclusions = new HashMap<>();
-                        for (Exclusion exclusion : dependency.getExclusions()) {
-                            if (exclusion.getGroupId().trim().equals(WILDCARD)) {
-                                if (exclusion.getArtifactId().trim().equals(WILDCARD)) {
-                                    // groupId + artifactId wildcard
-                                    for (Dependency transitive : getDependencyFirstLevelTransitives(dependency, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions)) {
-                                        final Exclusion resolvedExclusion = new Exclusion();
-                                        resolvedExclusion.setGroupId(transitive.getGroupId());
-                                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
-                                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
-                                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for *:* exclusion on dependency "+dependency.getManagementKey());
-                                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
-                                    }
-                                } else {
-                                    // groupId wildcard
-                                    final String exclusionArtifactId = exclusion.getArtifactId().trim();
-                                    final DependencyFilter dependencyFilter = new DependencyFilter() {
-                                        @Override
-                                        public boolean accept(DependencyNode node, List<DependencyNode> parents) {
-                                            final org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
-                                            return artifact != null && artifact.getArtifactId().trim().equals(exclusionArtifactId);
-                                        }
-                                    };
-                                    for (Dependency transitive : getDependencyTransitives(dependency, dependencyFilter, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions)) {
-                                        final Exclusion resolvedExclusion = new Exclusion();
-                                        resolvedExclusion.setGroupId(transitive.getGroupId());
-                                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
-                                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
-                                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for *:"+exclusionArtifactId+" exclusion on dependency "+dependency.getManagementKey());
-                                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
-                                    }
-                                }
-                            } else {
-                                if (exclusion.getArtifactId().trim().equals(WILDCARD)) {
-                                    // artifactId wildcard
-                                    final String exclusionGroupId = exclusion.getGroupId().trim();
-                                    final DependencyFilter dependencyFilter = new DependencyFilter() {
-                                        @Override
-                                        public boolean accept(DependencyNode node, List<DependencyNode> parents) {
-                                            final org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
-                                            return artifact != null && artifact.getGroupId().trim().equals(exclusionGroupId);
-                                        }
-                                    };
-                                    for (Dependency transitive : getDependencyTransitives(dependency, dependencyFilter, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions)) {
-                                        final Exclusion resolvedExclusion = new Exclusion();
-                                        resolvedExclusion.setGroupId(transitive.getGroupId());
-                                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
-                                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
-                                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for "+exclusionGroupId+":* exclusion on dependency "+dependency.getManagementKey());
-                                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
-                                    }
-                                } else {
-                                    // no wildcard
-                                    final String exclusionKey = exclusion.getGroupId()+":"+exclusion.getArtifactId();
-                                    resolvedExclusions.putIfAbsent(exclusionKey, exclusion);
-                                }
-                            }
-                        }
-                        // remove managed artifacts from resolved exclusions
-                        final List<Exclusion> filteredExclusions = new ArrayList<>();
-                        for (Map.Entry<String, Exclusion> resolvedExclusionEntry : resolvedExclusions.entrySet()) {
-                            final String resolvedExclusionKey = resolvedExclusionEntry.getKey();
-                            if (managedExclusions.contains(resolvedExclusionKey) || isIgnoredExclusion(resolvedExclusionEntry.getValue())) {
-                                getLog().debug("Removing exclusion "+resolvedExclusionKey+" from dependency "+dependency.getManagementKey());
-                                continue;
+                        final Map<String, Exclusion> resolvedExclusions = unmanagedDependenciesResolvedExclusions.get(dependency.getManagementKey());
+                        final List<Exclusion> filteredExclusions;
+                        if (resolvedExclusions != null) {
+                            filteredExclusions = filterExclusions(dependency, resolvedExclusions, removedExclusionsIndex);
+                        } else {
+                            filteredExclusions = new ArrayList<>();
+                            for (Exclusion exclusion : filteredExclusionsByExclusions.computeIfAbsent(getExclusionsKey(dependency), k -> filterExclusions(dependency, resolveExclusions(dependency), removedExclusionsIndex))) {
+                                filteredExclusions.add(exclusion.clone());
                             }
-                            getLog().debug("Keeping exclusion "+resolvedExclusionKey+" from dependency "+dependency.getManagementKey());
-                            filteredExclusions.add(resolvedExclusionEntry.getValue());
                         }
                         // update the dependency exclusions with the filtered ones
                         dependency.setExclusions(filteredExclusions);
@@ -635,26 +1004,26 @@ public class BuildBomMojo
             }
             addExclusions(dependency);
         }
+        executionMetrics.startPhase(ExecutionMetrics.PHASE_MANAGED_DEPENDENCIES);
         final List<Dependency> bomManagedDependencies = new ArrayList<>();
         final List<Dependency> bomDependencies = new ArrayList<>();
         if (includeDependencies != null || includeDependenciesTransitives != null) {
             // if includeDependencies is defined... filter the builder's dep management
-            if (!includedManagedDependenciesWithTransitives.isEmpty()) {
+            if (includedManagedDependencies.hasTransitives()) {
                 // need to resolve transitives
-                final MavenProject clone = mavenProject.clone();
-                clone.setDependencyArtifacts(null);
-                clone.getDependencyManagement().setDependencies(new ArrayList<>());
+                executionMetrics.startPhase(ExecutionMetrics.PHASE_TRANSITIVE_RESOLUTION);
+                final List<Dependency> resolvedManagedDependencies = new ArrayList<>(orderedManagedDependencies.size());
                 for (String orderedManagedDependencyKey : orderedManagedDependencies) {
-                    clone.getDependencyManagement().getDependencies().add(managedDependenciesMap.get(orderedManagedDependencyKey));
+                    resolvedManagedDependencies.add(managedDependenciesMap.get(orderedManagedDependencyKey));
                 }
-                clone.setDependencies(new ArrayList<>());
-                for (String managementKey : includedManagedDependencies) {
+                final List<Dependency> resolvedDependencies = new ArrayList<>();
+                for (String managementKey : includedManagedDependencies.getManagementKeys()) {
                     final Dependency managedDependencyClone = managedDependenciesMap.get(managementKey).clone();
                     // replace any import scopes with compile
                     if ("import".equals(managedDependencyClone.getScope())) {
                         managedDependencyClone.setScope("compile");
                     }
-                    if (!includedManagedDependenciesWithTransitives.contains(managementKey)) {
+                    if (!includedManagedDependencies.containsWithTransitives(managementKey)) {
                         // add wildcard exclusion to prevent resolving transitives
                         Exclusion exclusion = new Exclusion();
                         exclusion.setGroupId(WILDCARD);
@@ -664,31 +1033,18 @@ public class BuildBomMojo
                         // add just the deps excluded from the bom
                         managedDependencyClone.setExclusions(dependenciesExcludedFromResolving);
                     }
-                    clone.getDependencies().add(managedDependencyClone);
+                    resolvedDependencies.add(managedDependencyClone);
                 }
-                try {
-                    for (org.eclipse.aether.graph.Dependency aDependency : projectDependenciesResolver.resolve(new DefaultDependencyResolutionRequest(clone, repositorySystemSession)).getDependencies()) {
-                        final Dependency resolvedDependency = new Dependency();
-                        resolvedDependency.setGroupId(trim(aDependency.getArtifact().getGroupId()));
-                        resolvedDependency.setArtifactId(trim(aDependency.getArtifact().getArtifactId()));
-                        resolvedDependency.setType(trim(aDependency.getArtifact().getExtension()));
-                        String resolvedClassifier = trim(aDependency.getArtifact().getClassifier());
-                        if (resolvedClassifier != null && !resolvedClassifier.isEmpty()) {
-                            resolvedDependency.setClassifier(resolvedClassifier);
-                        }
-                        resolvedDependency.setVersion(aDependency.getArtifact().getVersion());
-                        final Dependency managedDependency = managedDependenciesMap.get(resolvedDependency.getManagementKey());
-                        addBomManagedDependency(managedDependency, bomManagedDependencies);
-                        if (bomWithDependencies) {
-                            addBomDependency(managedDependency, bomDependencies);
-                        }
+                for (Dependency resolvedDependency : resolveDependencies(resolvedDependencies, resolvedManagedDependencies)) {
+                    final Dependency managedDependency = managedDependenciesMap.get(resolvedDependency.getManagementKey());
+                    addBomManagedDependency(managedDependency, bomManagedDependencies);
+                    if (bomWithDependencies) {
+                        addBomDependency(managedDependency, bomDependencies);
                     }
-                } catch (Throwable e) {
-                    throw new MojoExecutionException(e.getMessage(),e);
                 }
             } else {
                 // no need to resolve transitives
-                for (String managementKey : includedManagedDependencies) {
+                for (String managementKey : includedManagedDependencies.getManagementKeys()) {
                     final Dependency managedDependency = managedDependenciesMap.get(managementKey);
                     addBomManagedDependency(managedDependency, bomManagedDependencies);
                     if (bomWithDependencies) {
@@ -706,34 +1062,305 @@ public class BuildBomMojo
                 }
             }
         }
+        executionMetrics.add(ExecutionMetrics.COUNTER_BOM_DEPENDENCIES, bomManagedDependencies.size());
         pomModel.getDependencyManagement().setDependencies(bomManagedDependencies);
         getLog().info("Added " + pomModel.getDependencyManagement().getDependencies().size() + " managed dependencies to the BOM.");
         pomModel.setDependencies(bomDependencies);
         getLog().info("Added " + pomModel.getDependencies().size() + " dependencies to the BOM.");
     }
 
-    private void addBuilderManagedDependency(Dependency dependency, List<String> orderedManagedDependencies, Map<String, Dependency> managedDependenciesMap, List<String> includedManagedDependencies, List<String> includedManagedDependenciesWithTransitives, Set<String> managedExclusions, ChannelSession channelSession) {
+    /**
+     * Resolves the specified dependencies, and their transitives, as if these were the builder's dependencies, or, if replaying a resolution snapshot, reads these from the snapshot. Only the dependency graph is collected, the artifact files are not resolved.
+     * @param dependencies the dependencies to resolve
+     * @param managedDependencies the dependency management to use when resolving
+     * @return the resolved dependencies
+     * @throws MojoExecutionException if the resolution failed, or the dependencies are not in the replayed snapshot
+     */
+    private List<Dependency> resolveDependencies(List<Dependency> dependencies, List<Dependency> managedDependencies) throws MojoExecutionException {
+        final String snapshotKey = resolutionSnapshot != null ? new BuildFingerprint().add("dependencies", dependencies).add("dependencyManagement", managedDependencies).toHexString() : null;
+        if (isResolutionSnapshotReplay()) {
+            final List<Dependency> resolvedDependencies = resolutionSnapshot.getResolvedDependencies(snapshotKey);
+            if (resolvedDependencies == null) {
+                throw new MojoExecutionException("Dependencies included by BOM " + bomArtifactId + " not found in the resolution snapshot, it should be recorded again");
+            }
+            return resolvedDependencies;
+        }
+        executionMetrics.increment(ExecutionMetrics.COUNTER_RESOLVER_CALLS);
+        // same request as when resolving the builder's dependencies, without the need to clone its project
+        final ArtifactTypeRegistry stereotypes = repositorySystemSession.getArtifactTypeRegistry();
+        final CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(RepositoryUtils.toArtifact(mavenProject.getArtifact()));
+        collectRequest.setRequestContext("project");
+        collectRequest.setRepositories(repositories);
+        for (Dependency dependency : dependencies) {
+            collectRequest.addDependency(RepositoryUtils.toDependency(dependency, stereotypes));
+        }
+        for (Dependency managedDependency : managedDependencies) {
+            collectRequest.addManagedDependency(RepositoryUtils.toDependency(managedDependency, stereotypes));
+        }
+        final List<org.eclipse.aether.graph.Dependency> aDependencies;
+        try {
+            // only the graph is needed, in the same order the resolution would provide, thus no artifacts are resolved
+            aDependencies = new DependencyGraph(repositorySystem.collectDependencies(repositorySystemSession, collectRequest).getRoot()).getDependencies(null);
+        } catch (DependencyCollectionException e) {
+            throw new MojoExecutionException(e.getMessage(),e);
+        }
+        if (resolutionSnapshot != null) {
+            resolutionSnapshot.putResolvedDependencies(snapshotKey, aDependencies);
+        }
+        final List<Dependency> resolvedDependencies = new ArrayList<>(aDependencies.size());
+        for (org.eclipse.aether.graph.Dependency aDependency : aDependencies) {
+            resolvedDependencies.add(DependencyTransitivesResolver.toResolvedDependency(aDependency));
+        }
+        return resolvedDependencies;
+    }
+
+    private boolean isResolutionSnapshotReplay() {
+        return resolutionSnapshot != null && resolutionSnapshot.isReplay();
+    }
+
+    /**
+     * Removes the exclusions matched by the specified index from the resolved exclusions of a dependency.
+     * @param dependency the dependency
+     * @param resolvedExclusions the dependency's resolved exclusions
+     * @param removedExclusionsIndex the index of exclusions to remove
+     * @return the exclusions not removed
+     */
+    private List<Exclusion> filterExclusions(Dependency dependency, Map<String, Exclusion> resolvedExclusions, ExclusionIndex removedExclusionsIndex) {
+        final List<Exclusion> filteredExclusions = new ArrayList<>();
+        for (Map.Entry<String, Exclusion> resolvedExclusionEntry : resolvedExclusions.entrySet()) {
+            final String resolvedExclusionKey = resolvedExclusionEntry.getKey();
+            if (removedExclusionsIndex.matches(resolvedExclusionEntry.getValue())) {
+                getLog().debug("Removing exclusion "+resolvedExclusionKey+" from dependency "+dependency.getManagementKey());
+                continue;
+            }
+            getLog().debug("Keeping exclusion "+resolvedExclusionKey+" from dependency "+dependency.getManagementKey());
+            filteredExclusions.add(resolvedExclusionEntry.getValue());
+        }
+        return filteredExclusions;
+    }
+
+    private static boolean hasWildcardExclusion(Dependency dependency) {
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            if (exclusion.getGroupId().trim().equals(WILDCARD) || exclusion.getArtifactId().trim().equals(WILDCARD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getExclusionsKey(Dependency dependency) {
+        final StringBuilder sb = new StringBuilder();
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            sb.append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Resolves the exclusions of a dependency without wildcard exclusions, i.e. its exclusions without duplicates.
+     * @param dependency the dependency
+     * @return the resolved exclusions, mapped by key
+     */
+    private static Map<String, Exclusion> resolveExclusions(Dependency dependency) {
+        final Map<String, Exclusion> resolvedExclusions = new HashMap<>();
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            resolvedExclusions.putIfAbsent(exclusion.getGroupId()+":"+exclusion.getArtifactId(), exclusion);
+        }
+        return resolvedExclusions;
+    }
+
+    private Map<String, Exclusion> resolveExclusions(Dependency dependency, DependencyTransitivesResolver transitivesResolver) throws MojoExecutionException {
+        // resolve wildcards
+        final Map<String, Exclusion> resolvedExclusions = new HashMap<>();
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            if (exclusion.getGroupId().trim().equals(WILDCARD)) {
+                if (exclusion.getArtifactId().trim().equals(WILDCARD)) {
+                    // groupId + artifactId wildcard
+                    for (Dependency transitive : transitivesResolver.getFirstLevelTransitives(dependency, executionMetrics)) {
+                        final Exclusion resolvedExclusion = new Exclusion();
+                        resolvedExclusion.setGroupId(transitive.getGroupId());
+                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
+                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
+                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for *:* exclusion on dependency "+dependency.getManagementKey());
+                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
+                    }
+                } else {
+                    // groupId wildcard
+                    final String exclusionArtifactId = exclusion.getArtifactId().trim();
+                    final DependencyFilter dependencyFilter = new DependencyFilter() {
+                        @Override
+                        public boolean accept(DependencyNode node, List<DependencyNode> parents) {
+                            final org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+                            return artifact != null && artifact.getArtifactId().trim().equals(exclusionArtifactId);
+                        }
+                    };
+                    for (Dependency transitive : transitivesResolver.getTransitives(dependency, dependencyFilter, executionMetrics)) {
+                        final Exclusion resolvedExclusion = new Exclusion();
+                        resolvedExclusion.setGroupId(transitive.getGroupId());
+                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
+                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
+                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for *:"+exclusionArtifactId+" exclusion on dependency "+dependency.getManagementKey());
+                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
+                    }
+                }
+            } else {
+                if (exclusion.getArtifactId().trim().equals(WILDCARD)) {
+                    // artifactId wildcard
+                    final String exclusionGroupId = exclusion.getGroupId().trim();
+                    final DependencyFilter dependencyFilter = new DependencyFilter() {
+                        @Override
+                        public boolean accept(DependencyNode node, List<DependencyNode> parents) {
+                            final org.eclipse.aether.artifact.Artifact artifact = node.getArtifact();
+                            return artifact != null && artifact.getGroupId().trim().equals(exclusionGroupId);
+                        }
+                    };
+                    for (Dependency transitive : transitivesResolver.getTransitives(dependency, dependencyFilter, executionMetrics)) {
+                        final Exclusion resolvedExclusion = new Exclusion();
+                        resolvedExclusion.setGroupId(transitive.getGroupId());
+                        resolvedExclusion.setArtifactId(transitive.getArtifactId());
+                        final String resolvedExclusionKey = resolvedExclusion.getGroupId()+":"+resolvedExclusion.getArtifactId();
+                        getLog().debug("Exclusion "+resolvedExclusionKey+" resolved for "+exclusionGroupId+":* exclusion on dependency "+dependency.getManagementKey());
+                        resolvedExclusions.putIfAbsent(resolvedExclusionKey, resolvedExclusion);
+                    }
+                } else {
+                    // no wildcard
+                    final String exclusionKey = exclusion.getGroupId()+":"+exclusion.getArtifactId();
+                    resolvedExclusions.putIfAbsent(exclusionKey, exclusion);
+                }
+            }
+        }
+        return resolvedExclusions;
+    }
+    /**
+     * Retrieves the channel session for the configured channels. Channel sessions are shared by all executions in the
+     * same Maven session, with the same channels, repositories and offline mode, so that the channel manifests are loaded,
+     * and the versions looked up, only once.
+     * @return the channel session
+     * @throws MojoExecutionException if a channel configuration is invalid
+     */
+    private ChannelSession getChannelSession() throws MojoExecutionException {
+        final String phase = executionMetrics.startPhase(ExecutionMetrics.PHASE_CHANNEL_RESOLUTION);
+        try {
+            return getChannelSession(this.channels);
+        } finally {
+            executionMetrics.startPhase(phase);
+        }
+    }
+
+    private ChannelSession getChannelSession(List<ChannelConfiguration> channelConfigurations) throws MojoExecutionException {
+        final List<Channel> channels = new ArrayList<>();
+        final StringBuilder key = new StringBuilder(ChannelSession.class.getName());
+        for (ChannelConfiguration channelConfiguration : channelConfigurations) {
+            final Channel channel = channelConfiguration.toChannel(repositories);
+            channels.add(channel);
+            final ChannelManifestCoordinate manifest = channel.getManifestCoordinate();
+            key.append('|').append(manifest.getUrl() != null ? manifest.getUrl() : manifest.getGroupId()+":"+manifest.getArtifactId()+":"+manifest.getVersion());
+        }
+        for (RemoteRepository r : repositories) {
+            key.append('|').append(r.getId()).append('=').append(r.getUrl());
+        }
+        key.append("|offline=").append(repositorySystemSession.isOffline());
+        return (ChannelSession) repositorySystemSession.getData().computeIfAbsent(key.toString(), () -> {
+            getLog().debug("Creating channel session for "+key);
+            DefaultRepositorySystemSession session = MavenRepositorySystemUtils.newSession();
+            session.setLocalRepositoryManager(repositorySystemSession.getLocalRepositoryManager());
+            session.setOffline(repositorySystemSession.isOffline());
+            Map<String, RemoteRepository> mapping = new HashMap<>();
+            for (RemoteRepository r : repositories) {
+                mapping.put(r.getId(), r);
+            }
+            Function<org.wildfly.channel.Repository, RemoteRepository> mapper = r -> {
+                RemoteRepository rep = mapping.get(r.getId());
+                if (rep == null) {
+                    rep = DEFAULT_REPOSITORY_MAPPER.apply(r);
+                }
+                return rep;
+            };
+            VersionResolverFactory factory = new VersionResolverFactory(repositorySystem, session, mapper);
+            return new ChannelSession(channels, factory);
+        });
+    }
+
+    /**
+     * Looks up the latest versions of the specified dependencies on channels, concurrently if more than one resolver thread is configured.
+     * @param dependencies the dependencies to lookup
+     * @param channelSession the channel session, may be null if no channels are configured, or replaying a resolution snapshot
+     * @return the latest versions found, mapped by the dependency's management key and version
+     * @throws MojoExecutionException if the lookup failed
+     */
+    private Map<String, String> findLatestVersionsOnChannels(List<Dependency> dependencies, ChannelSession channelSession) throws MojoExecutionException {
+        final Map<String, String> latestVersions = new HashMap<>();
+        if (channels == null || dependencies.isEmpty()) {
+            return latestVersions;
+        }
+        final String phase = executionMetrics.startPhase(ExecutionMetrics.PHASE_CHANNEL_RESOLUTION);
+        getLog().info("Resolving latest versions of "+dependencies.size()+" dependencies on channels...");
+        final List<Callable<String>> tasks = new ArrayList<>(dependencies.size());
+        for (Dependency dependency : dependencies) {
+            tasks.add(() -> findLatestVersionOnChannels(dependency, channelSession));
+        }
+        final List<String> results = invokeAll(tasks);
+        final List<String> updated = new ArrayList<>();
+        final List<String> notFound = new ArrayList<>();
+        for (int i = 0; i < dependencies.size(); i++) {
+            final Dependency dependency = dependencies.get(i);
+            final String latestVersion = results.get(i);
+            if (latestVersion == null) {
+                notFound.add(dependency.getManagementKey());
+                continue;
+            }
+            latestVersions.put(dependency.getManagementKey()+":"+dependency.getVersion(), latestVersion);
+            if (!latestVersion.equals(dependency.getVersion())) {
+                updated.add(dependency.getManagementKey()+":"+dependency.getVersion()+" -> "+latestVersion);
+            }
+        }
+        getLog().info("Resolved latest versions on channels: "+(dependencies.size() - notFound.size())+" found ("+updated.size()+" updated), "+notFound.size()+" not found");
+        executionMetrics.add(ExecutionMetrics.COUNTER_CHANNEL_LOOKUPS, dependencies.size());
+        executionMetrics.add(ExecutionMetrics.COUNTER_CHANNEL_MISSES, notFound.size());
+        executionMetrics.startPhase(phase);
+        if (getLog().isDebugEnabled()) {
+            getLog().debug("Dependencies updated by channels: "+updated);
+            getLog().debug("Dependencies not found on channels: "+notFound);
+        }
+        return latestVersions;
+    }
+
+    private String findLatestVersionOnChannels(Dependency dependency, ChannelSession channelSession) throws MojoExecutionException {
+        final String key = dependency.getManagementKey()+":"+dependency.getVersion();
+        if (isResolutionSnapshotReplay()) {
+            if (!resolutionSnapshot.containsChannelVersion(key)) {
+                throw new MojoExecutionException("Latest version of dependency "+key+" on channels not found in the resolution snapshot, it should be recorded again");
+            }
+            return resolutionSnapshot.getChannelVersion(key);
+        }
+        String latestVersion;
+        try {
+            latestVersion = channelSession.findLatestMavenArtifactVersion(dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(), dependency.getClassifier(), dependency.getVersion()).getVersion();
+        } catch (UnresolvedMavenArtifactException e) {
+            latestVersion = null;
+        }
+        if (resolutionSnapshot != null) {
+            resolutionSnapshot.putChannelVersion(key, latestVersion);
+        }
+        return latestVersion;
+    }
+
+    private void addBuilderManagedDependency(Dependency dependency, List<String> orderedManagedDependencies, Map<String, Dependency> managedDependenciesMap, IncludedDependencies includedManagedDependencies, Set<String> managedExclusions, Map<String, String> channelVersions) {
         dependency = dependency.clone();
         final String managementKey = dependency.getManagementKey();
-        // if channels are configured then use them to resolve the dependency, to obtain any version update
-        if (channelSession != null) {
-            try {
-                getLog().debug("Resolving dependency "+managementKey+"'s latest version on channels... (current = "+dependency.getVersion()+")");
-                final VersionResult latestVersion = channelSession.findLatestMavenArtifactVersion(dependency.getGroupId(), dependency.getArtifactId(), dependency.getType(), dependency.getClassifier(), dependency.getVersion());
-                getLog().debug("Resolved dependency "+managementKey+"'s latest version on channels: "+latestVersion);
-                dependency.setVersion(latestVersion.getVersion());
-            } catch (UnresolvedMavenArtifactException e) {
-                getLog().debug("Failed to resolve dependency "+managementKey+" on channels", e);
-            }
+        // apply any version update found on channels
+        final String channelVersion = channelVersions.get(managementKey+":"+dependency.getVersion());
+        if (channelVersion != null) {
+            dependency.setVersion(channelVersion);
         }
         managedDependenciesMap.put(managementKey, resolveDependency(dependency));
         orderedManagedDependencies.add(managementKey);
         final IncludeDependency includedDependency = getIncludedDependency(dependency);
         if (includedDependency != null) {
             final boolean transitive = includedDependency.getTransitive() == null ? includeTransitives : includedDependency.getTransitive();
-            includedManagedDependencies.add(managementKey);
+            includedManagedDependencies.include(managementKey, transitive);
             if (transitive) {
-                includedManagedDependenciesWithTransitives.add(managementKey);
                 getLog().debug("Dependency included (with transitives) by config: "+managementKey);
             } else {
                 getLog().debug("Dependency included (without transitives) by config: "+managementKey);
@@ -741,7 +1368,7 @@ public class BuildBomMojo
         }
         if (isImportedDependency(dependency)) {
             dependency.setScope("import");
-            includedManagedDependencies.add(managementKey);
+            includedManagedDependencies.include(managementKey, false);
             getLog().debug("Dependency imported by config: "+managementKey);
         }
         if (getInheritExclusions(dependency) == InheritExclusions.UNMANAGED) {
@@ -758,7 +1385,7 @@ public class BuildBomMojo
     }
 
     private Dependency applyScopeOverride(final Dependency dependency) {
-        final ScopeOverride override = getDependencyMatch(dependency, scopeOverrides);
+        final ScopeOverride override = scopeOverridesMatcher.match(dependency);
         if (override != null) {
             dependency.setScope(override.getNewScope());
         }
@@ -784,7 +1411,7 @@ public class BuildBomMojo
     }
 
     private boolean isExcludedDependency(Dependency dependency) {
-        final Dependency dependencyMatch = getDependencyMatch(dependency, excludeDependencies);
+        final Dependency dependencyMatch = excludeDependenciesMatcher.match(dependency);
         if (dependencyMatch != null) {
             if (getLog().isDebugEnabled()) {
                 getLog().debug("Managed dependency " + dependency.getManagementKey() + " matches dependency exclude " + dependencyMatch.getManagementKey());
@@ -805,21 +1432,23 @@ public class BuildBomMojo
     }
 
     private IncludeDependency getIncludedTransitiveDependency(Dependency dependency) {
-        return getDependencyMatch(dependency, includeDependenciesTransitives);
+        return includeDependenciesTransitivesMatcher.match(dependency);
     }
 
     private IncludeDependency getIncludedDependency(Dependency dependency) {
-        return getDependencyMatch(dependency, includeDependencies);
+        return includeDependenciesMatcher.match(dependency);
     }
 
     private Dependency resolveDependency(final Dependency dependency) {
         if (dependency instanceof IncludeDependency) {
             return dependency;
         }
-        final IncludeDependency includeDependency = getIncludedDependency(dependency);
-        if (includeDependency == null) {
+        final IncludeDependency includeDependencyMatch = getIncludedDependency(dependency);
+        if (includeDependencyMatch == null) {
             return dependency;
         }
+        // the configured dependency may be shared with other BOMs, which may be concurrently generated, thus complete a copy
+        final IncludeDependency includeDependency = (IncludeDependency) includeDependencyMatch.clone();
         if (includeDependency.getClassifier() == null) {
             includeDependency.setClassifier(dependency.getClassifier());
         }
@@ -841,54 +1470,61 @@ public class BuildBomMojo
         return includeDependency;
     }
 
-    private Collection<? extends Dependency> getDependencyFirstLevelTransitives(final Dependency dependency, List<Exclusion> dependenciesExcludedFromResolving, List<Dependency> dependencyManagementWithoutExclusions) throws MojoExecutionException {
-        final DependencyFilter dependencyFilter = new DependencyFilter() {
-            @Override
-            public boolean accept(DependencyNode node, List<DependencyNode> parents) {
-                // only 1st level dependencies accepted
-                return parents.size() == 2;
-            }
-        };
-        return getDependencyTransitives(dependency, dependencyFilter, dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions);
+    /**
+     * Executes the specified tasks, concurrently if more than one resolver thread is configured.
+     * @param tasks the tasks to execute
+     * @return the tasks results, in the same order as the tasks
+     * @throws MojoExecutionException if any of the tasks failed
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) throws MojoExecutionException {
+        return invokeAll(tasks, resolverThreads);
     }
 
-    private Collection<? extends Dependency> getDependencyTransitives(final Dependency dependency, final DependencyFilter filter, List<Exclusion> dependenciesExcludedFromResolving, List<Dependency> dependencyManagementWithoutExclusions) throws MojoExecutionException {
-        final MavenProject projectClone = mavenProject.clone();
-        projectClone.setDependencyArtifacts(null);
-        projectClone.getDependencyManagement().setDependencies(dependencyManagementWithoutExclusions);
-        projectClone.setDependencies(new ArrayList<>());
-        final Dependency managedDependencyClone = dependency.clone();
-        managedDependencyClone.setExclusions(dependenciesExcludedFromResolving);
-        // replace any import scopes with compile
-        if ("import".equals(managedDependencyClone.getScope())) {
-            managedDependencyClone.setScope("compile");
+    /**
+     * Executes the specified tasks, concurrently if more than one thread is specified.
+     * @param tasks the tasks to execute
+     * @param threads the max number of threads
+     * @return the tasks results, in the same order as the tasks
+     * @throws MojoExecutionException if any of the tasks failed
+     */
+    private <T> List<T> invokeAll(List<Callable<T>> tasks, int threads) throws MojoExecutionException {
+        final List<T> results = new ArrayList<>(tasks.size());
+        if (threads < 2 || tasks.size() < 2) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (MojoExecutionException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new MojoExecutionException(e.getMessage(), e);
+                }
+            }
+            return results;
         }
-        projectClone.getDependencies().add(managedDependencyClone);
-        final List<Dependency> resolvedDependencies = new ArrayList<>();
+        final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
         try {
-            for (org.eclipse.aether.graph.Dependency aDependency : projectDependenciesResolver.resolve(new DefaultDependencyResolutionRequest(projectClone, repositorySystemSession).setResolutionFilter(filter)).getDependencies()) {
-                final Dependency resolvedDependency = new Dependency();
-                resolvedDependency.setGroupId(trim(aDependency.getArtifact().getGroupId()));
-                resolvedDependency.setArtifactId(trim(aDependency.getArtifact().getArtifactId()));
-                resolvedDependency.setType(trim(aDependency.getArtifact().getExtension()));
-                String resolvedClassifier = trim(aDependency.getArtifact().getClassifier());
-                if (resolvedClassifier != null && !resolvedClassifier.isEmpty()) {
-                    resolvedDependency.setClassifier(resolvedClassifier);
-                }
-                resolvedDependency.setVersion(aDependency.getArtifact().getVersion());
-                resolvedDependencies.add(resolvedDependency);
+            for (Future<T> future : executorService.invokeAll(tasks)) {
+                results.add(future.get());
             }
-        } catch (Throwable e) {
-            throw new MojoExecutionException(e.getMessage(),e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while resolving dependencies", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MojoExecutionException) {
+                throw (MojoExecutionException) e.getCause();
+            }
+            throw new MojoExecutionException(e.getCause().getMessage(), e.getCause());
+        } finally {
+            executorService.shutdownNow();
         }
-        return resolvedDependencies;
+        return results;
     }
 
     private boolean isImportedDependency(Dependency dependency) {
         if (!"pom".equals(dependency.getType())) {
             return false;
         }
-        final Dependency dependencyMatch = getDependencyMatch(dependency, importDependencies);
+        final Dependency dependencyMatch = importDependenciesMatcher.match(dependency);
         if (dependencyMatch != null) {
             if (getLog().isDebugEnabled()) {
                 getLog().debug("Managed dependency " + dependency.getManagementKey() + " matches dependency import " + dependencyMatch.getManagementKey());
@@ -898,71 +1534,6 @@ public class BuildBomMojo
         return false;
     }
 
-    private boolean isIgnoredExclusion(final Exclusion exclusion) {
-        if (ignoredExclusions != null) {
-            for (Exclusion ignoredExclusion : ignoredExclusions) {
-                if (ignoredExclusion.getArtifactId().equals(exclusion.getArtifactId()) &&
-                        ignoredExclusion.getGroupId().equals(exclusion.getGroupId())) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private <T extends Dependency> T getDependencyMatch(Dependency dependency, Collection<? extends T> dependencyMatches) {
-        if (dependencyMatches != null && !dependencyMatches.isEmpty()) {
-            for (T dependencyMatch : dependencyMatches) {
-                if (matchesDependency(dependency, dependencyMatch)) {
-                    return dependencyMatch;
-                }
-            }
-        }
-        return null;
-    }
-
-    private boolean matchesDependency(Dependency dependency, Dependency match) {
-        if (!"*".equals(match.getGroupId())) {
-            String groupId = defaultString(trim(dependency.getGroupId()), "");
-            if(!groupId.equals(match.getGroupId())) {
-                return false;
-            }
-        }
-        if (!"*".equals(match.getArtifactId())) {
-            String artifactId = defaultString(trim(dependency.getArtifactId()), "");
-            if (!artifactId.equals(match.getArtifactId())) {
-                return false;
-            }
-        }
-        if (!"*".equals(match.getType())) {
-            String type = defaultString(trim(dependency.getType()), "jar");
-            if(!type.equals(match.getType())) {
-                return false;
-            }
-        }
-        if (!"*".equals(match.getClassifier())) {
-            String classifier = trim(dependency.getClassifier());
-            if (classifier == null) {
-                if (match.getClassifier() != null) {
-                    return false;
-                }
-            } else {
-                if (match.getClassifier() == null || !classifier.equals(match.getClassifier())) {
-                    return false;
-                }
-            }
-        }
-        final String matchScope = trim(match.getScope());
-        if (matchScope != null && !matchScope.isEmpty() && !"*".equals(matchScope)) {
-            String scope = defaultString(trim(dependency.getScope()), "compile");
-            if (!scope.equals(match.getScope())) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-
     private void addExclusions(Dependency dependency) {
         if (addExclusions != null) {
             for (AddExclusion exclusion : addExclusions) {
@@ -978,19 +1549,45 @@ public class BuildBomMojo
     }
 
     static class ModelWriter {
-        void writeModel(Model pomModel, File outputFile)
+        /**
+         * Writes the model, unless the output file already has the same content. The model is first rendered to memory,
+         * and then atomically moved into place, thus concurrent readers never see a partially written file.
+         * @param pomModel the model to write
+         * @param outputFile the file to write
+         * @return true if the output file was written, false if it was already up to date
+         * @throws MojoExecutionException if the write failed
+         */
+        boolean writeModel(Model pomModel, File outputFile)
                 throws MojoExecutionException {
             if (!outputFile.getParentFile().exists()) {
                 outputFile.getParentFile().mkdirs();
             }
-            try (FileWriter writer = new FileWriter(outputFile)) {
-                MavenXpp3Writer mavenWriter = new MavenXpp3Writer();
-                mavenWriter.write(writer, pomModel);
+            try {
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
+                    MavenXpp3Writer mavenWriter = new MavenXpp3Writer();
+                    mavenWriter.write(writer, pomModel);
+                }
+                final byte[] content = outputStream.toByteArray();
+                final Path outputPath = outputFile.toPath();
+                if (outputFile.isFile() && outputFile.length() == content.length && Arrays.equals(content, Files.readAllBytes(outputPath))) {
+                    return false;
+                }
+                final Path tempFile = Files.createTempFile(outputPath.getParent(), outputFile.getName(), ".tmp");
+                try {
+                    Files.write(tempFile, content);
+                    try {
+                        Files.move(tempFile, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(tempFile, outputPath, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(tempFile);
+                }
+                return true;
             } catch (IOException e) {
-                e.printStackTrace();
                 throw new MojoExecutionException("Unable to write pom file.", e);
             }
-
         }
     }
 
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * A SHA-256 fingerprint of the inputs of a BOM build, i.e. the builder's models and the build configuration.
+ *
+ * Each value added is prefixed with its name, and terminated, so that different inputs may not produce the same
+ * fingerprint by moving content from one value to the next.
+ */
+class BuildFingerprint {
+
+    private final MessageDigest digest;
+
+    BuildFingerprint() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     *
+     * @param name the input name
+     * @param value the input value, may be null
+     * @return this fingerprint
+     */
+    BuildFingerprint add(String name, Object value) {
+        update(name + "=" + value + "\n");
+        return this;
+    }
+
+    /**
+     *
+     * @param name the input name
+     * @param values the input values, may be null
+     * @return this fingerprint
+     */
+    BuildFingerprint add(String name, Collection<?> values) {
+        if (values == null) {
+            return add(name, (Object) null);
+        }
+        update(name + "=[" + values.size() + "\n");
+        for (Object value : values) {
+            if (value instanceof Dependency) {
+                addDependency((Dependency) value);
+            } else if (value instanceof AddExclusion) {
+                final AddExclusion addExclusion = (AddExclusion) value;
+                update(addExclusion.getDependencyGroupId() + ":" + addExclusion.getDependencyArtifactId() + ":" + addExclusion.getExclusionGroupId() + ":" + addExclusion.getExclusionArtifactId() + "\n");
+            } else if (value instanceof Exclusion) {
+                final Exclusion exclusion = (Exclusion) value;
+                update(exclusion.getGroupId() + ":" + exclusion.getArtifactId() + "\n");
+            } else if (value instanceof ChannelConfiguration) {
+                final ChannelConfiguration channelConfiguration = (ChannelConfiguration) value;
+                final String manifest = channelConfiguration.getManifest() == null ? null : channelConfiguration.getManifest().getUrl() != null ? channelConfiguration.getManifest().getUrl().toString() : channelConfiguration.getManifest().getGroupId() + ":" + channelConfiguration.getManifest().getArtifactId() + ":" + channelConfiguration.getManifest().getVersion();
+                update(manifest + "\n");
+            } else {
+                update(value + "\n");
+            }
+        }
+        update("]\n");
+        return this;
+    }
+
+    /**
+     *
+     * @param name the input name
+     * @param model the input model, may be null
+     * @return this fingerprint
+     * @throws IOException if the model's serialization failed
+     */
+    BuildFingerprint add(String name, Model model) throws IOException {
+        update(name + "=\n");
+        if (model != null) {
+            final DigestOutputStream outputStream = new DigestOutputStream(OutputStream.nullOutputStream(), digest);
+            final Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+            new MavenXpp3Writer().write(writer, model);
+            writer.flush();
+        }
+        update("\n");
+        return this;
+    }
+
+    private void addDependency(Dependency dependency) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(dependency.getGroupId()).append(':').append(dependency.getArtifactId()).append(':').append(dependency.getType()).append(':').append(dependency.getClassifier()).append(':').append(dependency.getVersion()).append(':').append(dependency.getScope()).append(':').append(dependency.getOptional());
+        for (Exclusion exclusion : dependency.getExclusions()) {
+            sb.append(':').append(exclusion.getGroupId()).append('/').append(exclusion.getArtifactId());
+        }
+        if (dependency instanceof IncludeDependency) {
+            final IncludeDependency includeDependency = (IncludeDependency) dependency;
+            sb.append(":transitive=").append(includeDependency.getTransitive()).append(":inheritExclusions=").append(includeDependency.getInheritExclusions());
+        }
+        if (dependency instanceof ScopeOverride) {
+            sb.append(":newScope=").append(((ScopeOverride) dependency).getNewScope());
+        }
+        if (dependency instanceof VersionProperty) {
+            sb.append(":propertyName=").append(((VersionProperty) dependency).getPropertyName());
+        }
+        update(sb.append('\n').toString());
+    }
+
+    private void update(String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     *
+     * @return the fingerprint, as hex string
+     */
+    String toHexString() {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Repository;
+import org.apache.maven.project.MavenProject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The builder's project and its parents, with the profiles, repositories and managed plugins of their models indexed.
+ *
+ * The parents are traversed only once, and each index is built only once, when first needed. When more than one model
+ * has an element with the same id, the one of the model nearest to the builder's project is indexed.
+ */
+class BuilderHierarchy {
+
+    private final MavenProject project;
+    private List<MavenProject> projects;
+    private Map<String, String> versions;
+    private Map<String, Profile> profiles;
+    private Map<String, Repository> repositories;
+    private Map<String, Repository> pluginRepositories;
+    private List<Plugin> managedPlugins;
+
+    /**
+     *
+     * @param project the builder's project
+     */
+    BuilderHierarchy(MavenProject project) {
+        this.project = project;
+    }
+
+    /**
+     *
+     * @return the builder's project, followed by its parents
+     */
+    synchronized List<MavenProject> getProjects() {
+        if (projects == null) {
+            final List<MavenProject> projects = new ArrayList<>();
+            MavenProject current = project;
+            while (current != null) {
+                projects.add(current);
+                current = current.getParent();
+            }
+            this.projects = Collections.unmodifiableList(projects);
+        }
+        return projects;
+    }
+
+    /**
+     *
+     * @param groupId a groupId
+     * @param artifactId an artifactId
+     * @return the version of the project in the hierarchy with the specified groupId and artifactId, null if there is no such project
+     */
+    synchronized String getVersion(String groupId, String artifactId) {
+        if (versions == null) {
+            versions = new HashMap<>();
+            for (MavenProject current : getProjects()) {
+                versions.putIfAbsent(current.getGroupId() + ":" + current.getArtifactId(), current.getVersion());
+            }
+        }
+        return versions.get(groupId + ":" + artifactId);
+    }
+
+    /**
+     *
+     * @return the profiles, mapped by id, in the hierarchy order
+     */
+    synchronized Map<String, Profile> getProfiles() {
+        if (profiles == null) {
+            profiles = new LinkedHashMap<>();
+            for (Model model : getModels()) {
+                if (model.getProfiles() != null) {
+                    for (Profile profile : model.getProfiles()) {
+                        profiles.putIfAbsent(profile.getId(), profile);
+                    }
+                }
+            }
+        }
+        return profiles;
+    }
+
+    /**
+     *
+     * @return the repositories, mapped by id, in the hierarchy order
+     */
+    synchronized Map<String, Repository> getRepositories() {
+        if (repositories == null) {
+            repositories = new LinkedHashMap<>();
+            for (Model model : getModels()) {
+                index(model.getRepositories(), repositories);
+            }
+        }
+        return repositories;
+    }
+
+    /**
+     *
+     * @return the plugin repositories, mapped by id, in the hierarchy order
+     */
+    synchronized Map<String, Repository> getPluginRepositories() {
+        if (pluginRepositories == null) {
+            pluginRepositories = new LinkedHashMap<>();
+            for (Model model : getModels()) {
+                index(model.getPluginRepositories(), pluginRepositories);
+            }
+        }
+        return pluginRepositories;
+    }
+
+    /**
+     *
+     * @return the plugins of all the models plugin management, in the hierarchy order
+     */
+    synchronized List<Plugin> getManagedPlugins() {
+        if (managedPlugins == null) {
+            managedPlugins = new ArrayList<>();
+            for (Model model : getModels()) {
+                final Build build = model.getBuild();
+                if (build != null) {
+                    final PluginManagement pluginManagement = build.getPluginManagement();
+                    if (pluginManagement != null && pluginManagement.getPlugins() != null) {
+                        managedPlugins.addAll(pluginManagement.getPlugins());
+                    }
+                }
+            }
+        }
+        return managedPlugins;
+    }
+
+    private List<Model> getModels() {
+        final List<Model> models = new ArrayList<>();
+        for (MavenProject current : getProjects()) {
+            if (current.getModel() != null) {
+                models.add(current.getModel());
+            }
+        }
+        return models;
+    }
+
+    private static void index(List<Repository> repositories, Map<String, Repository> index) {
+        if (repositories != null) {
+            for (Repository repository : repositories) {
+                index.putIfAbsent(repository.getId(), repository);
+            }
+        }
+    }
+}
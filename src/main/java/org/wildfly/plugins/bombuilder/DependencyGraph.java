@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A collected dependency graph, which allows the transitives of the root's dependencies to be looked up in memory.
+ *
+ * The graph is walked the same way the resolver walks a graph when resolving its artifacts, i.e. in preorder and with
+ * each node visited once, and dependency filters are invoked with the same parents. Thus, if the graph was collected with
+ * the session's graph transformer, a lookup returns the same dependencies a resolution request, with the same filter,
+ * returns. A graph collected without transformer, such as the shared dependency graph, has no conflicts resolved, and
+ * its lookups may return versions and paths which the resolution would have dropped.
+ */
+class DependencyGraph {
+
+    private final DependencyNode root;
+    private final Map<String, DependencyNode> nodes;
+
+    DependencyGraph(DependencyNode root) {
+        this.root = root;
+        this.nodes = new HashMap<>();
+        for (DependencyNode node : root.getChildren()) {
+            if (node.getArtifact() == null) {
+                continue;
+            }
+            nodes.put(ArtifactIdUtils.toVersionlessId(node.getArtifact()), node);
+            for (Artifact relocation : node.getRelocations()) {
+                nodes.putIfAbsent(ArtifactIdUtils.toVersionlessId(relocation), node);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param artifact the artifact of one of the root's dependencies
+     * @return true if the graph contains a node for the specified root's dependency artifact
+     */
+    boolean contains(Artifact artifact) {
+        return nodes.containsKey(ArtifactIdUtils.toVersionlessId(artifact));
+    }
+
+    /**
+     * Retrieves all dependencies in the graph accepted by the specified filter.
+     * @param filter the filter, may be null
+     * @return the dependencies accepted by the filter
+     */
+    List<Dependency> getDependencies(DependencyFilter filter) {
+        final List<Dependency> dependencies = new ArrayList<>();
+        visit(root, new LinkedList<>(), filter, Collections.newSetFromMap(new IdentityHashMap<>()), dependencies);
+        return dependencies;
+    }
+
+    /**
+     * Retrieves the specified root's dependency, and all of its transitives, accepted by the specified filter.
+     * @param artifact the artifact of one of the root's dependencies
+     * @param filter the filter, may be null
+     * @return the dependencies accepted by the filter, an empty list if the graph does not contain the artifact
+     */
+    List<Dependency> getDependencies(Artifact artifact, DependencyFilter filter) {
+        final DependencyNode node = nodes.get(ArtifactIdUtils.toVersionlessId(artifact));
+        if (node == null) {
+            return Collections.emptyList();
+        }
+        final List<Dependency> dependencies = new ArrayList<>();
+        final LinkedList<DependencyNode> parents = new LinkedList<>();
+        parents.add(root);
+        visit(node, parents, filter, Collections.newSetFromMap(new IdentityHashMap<>()), dependencies);
+        return dependencies;
+    }
+
+    /**
+     * Writes the graph, in the format read by {@link #read(BufferedReader)}. Each root's dependency is written with
+     * its transitives in preorder, and each node only once per root's dependency, thus the graph read is a tree, with
+     * the same lookup results for each root's dependency. Transitives shared by root's dependencies, e.g. due to the
+     * collector reusing children lists, are written once for each of these.
+     * @param writer the writer
+     * @throws IOException if the write failed
+     */
+    void write(Writer writer) throws IOException {
+        writer.write(root.getArtifact() != null ? ArtifactIdUtils.toId(root.getArtifact()) : "");
+        writer.write('\n');
+        final Set<DependencyNode> written = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DependencyNode child : root.getChildren()) {
+            if (!written.add(child)) {
+                continue;
+            }
+            // same as lookups, each root's dependency is visited with its own visited nodes
+            final Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            visited.add(root);
+            write(child, 1, writer, visited);
+        }
+    }
+
+    private static void write(DependencyNode node, int depth, Writer writer, Set<DependencyNode> visited) throws IOException {
+        if (!visited.add(node) || node.getDependency() == null) {
+            return;
+        }
+        final Dependency dependency = node.getDependency();
+        writer.write(depth + "\t" + dependency.getScope() + "\t" + (dependency.getOptional() != null ? dependency.getOptional() : "") + "\t" + ArtifactIdUtils.toId(dependency.getArtifact()));
+        writer.write('\n');
+        for (DependencyNode child : node.getChildren()) {
+            write(child, depth + 1, writer, visited);
+        }
+    }
+
+    /**
+     * Reads a graph written by {@link #write(Writer)}.
+     * @param reader the reader
+     * @return the graph read
+     * @throws IOException if the read failed, or the content is not valid
+     */
+    static DependencyGraph read(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new IOException("Empty dependency graph");
+        }
+        final DependencyNode root = new DefaultDependencyNode(line.isEmpty() ? null : new DefaultArtifact(line));
+        final List<DependencyNode> path = new ArrayList<>();
+        path.add(root);
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] parts = line.split("\t", 4);
+            if (parts.length != 4) {
+                throw new IOException("Invalid dependency graph node " + line);
+            }
+            final int depth;
+            try {
+                depth = Integer.parseInt(parts[0]);
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid dependency graph node " + line, e);
+            }
+            if (depth < 1 || depth > path.size()) {
+                throw new IOException("Invalid dependency graph node " + line);
+            }
+            final Dependency dependency = new Dependency(new DefaultArtifact(parts[3]), parts[1], parts[2].isEmpty() ? null : Boolean.valueOf(parts[2]));
+            final DependencyNode node = new DefaultDependencyNode(dependency);
+            path.get(depth - 1).getChildren().add(node);
+            while (path.size() > depth) {
+                path.remove(path.size() - 1);
+            }
+            path.add(node);
+        }
+        return new DependencyGraph(root);
+    }
+
+    private static void visit(DependencyNode node, LinkedList<DependencyNode> parents, DependencyFilter filter, Set<DependencyNode> visited, List<Dependency> dependencies) {
+        if (!visited.add(node)) {
+            return;
+        }
+        if (node.getDependency() != null && (filter == null || filter.accept(node, parents))) {
+            dependencies.add(node.getDependency());
+        }
+        parents.addFirst(node);
+        for (DependencyNode child : node.getChildren()) {
+            visit(child, parents, filter, visited, dependencies);
+        }
+        parents.removeFirst();
+    }
+}
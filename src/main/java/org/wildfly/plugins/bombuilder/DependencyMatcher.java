@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.codehaus.plexus.util.StringUtils.defaultString;
+import static org.codehaus.plexus.util.StringUtils.trim;
+
+/**
+ * Matches dependencies against a list of dependency rules, where any of the rule's groupId, artifactId, type,
+ * classifier and scope may be a {@code *} wildcard, and a rule without scope matches any scope.
+ *
+ * Rules are indexed by groupId and artifactId, with separate buckets for the rules with wildcards in such fields, thus
+ * a match only needs to check the rules that may match the dependency's groupId and artifactId. The first matching
+ * rule, in the rules list order, wins.
+ *
+ * @param <T> the rule type
+ */
+class DependencyMatcher<T extends Dependency> {
+
+    private static final String WILDCARD = "*";
+
+    private final Map<String, List<Rule<T>>> groupIdAndArtifactIdRules = new HashMap<>();
+    private final Map<String, List<Rule<T>>> groupIdRules = new HashMap<>();
+    private final Map<String, List<Rule<T>>> artifactIdRules = new HashMap<>();
+    private final List<Rule<T>> wildcardRules = new ArrayList<>();
+
+    /**
+     *
+     * @param rules the rules, may be null
+     */
+    DependencyMatcher(Collection<? extends T> rules) {
+        if (rules == null) {
+            return;
+        }
+        int index = 0;
+        for (T dependency : rules) {
+            final Rule<T> rule = new Rule<>(index++, dependency);
+            if (dependency.getGroupId() == null || dependency.getArtifactId() == null) {
+                // never matches
+                continue;
+            }
+            final boolean groupIdWildcard = WILDCARD.equals(dependency.getGroupId());
+            final boolean artifactIdWildcard = WILDCARD.equals(dependency.getArtifactId());
+            if (groupIdWildcard && artifactIdWildcard) {
+                wildcardRules.add(rule);
+            } else if (groupIdWildcard) {
+                artifactIdRules.computeIfAbsent(dependency.getArtifactId(), k -> new ArrayList<>()).add(rule);
+            } else if (artifactIdWildcard) {
+                groupIdRules.computeIfAbsent(dependency.getGroupId(), k -> new ArrayList<>()).add(rule);
+            } else {
+                groupIdAndArtifactIdRules.computeIfAbsent(dependency.getGroupId() + ":" + dependency.getArtifactId(), k -> new ArrayList<>()).add(rule);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the first rule matching the specified dependency.
+     * @param dependency the dependency
+     * @return the first rule matching the dependency, null if none matches
+     */
+    T match(Dependency dependency) {
+        final String groupId = defaultString(trim(dependency.getGroupId()), "");
+        final String artifactId = defaultString(trim(dependency.getArtifactId()), "");
+        final String type = defaultString(trim(dependency.getType()), "jar");
+        final String classifier = trim(dependency.getClassifier());
+        final String scope = defaultString(trim(dependency.getScope()), "compile");
+        Rule<T> match = match(groupIdAndArtifactIdRules.getOrDefault(groupId + ":" + artifactId, Collections.emptyList()), type, classifier, scope, null);
+        match = match(groupIdRules.getOrDefault(groupId, Collections.emptyList()), type, classifier, scope, match);
+        match = match(artifactIdRules.getOrDefault(artifactId, Collections.emptyList()), type, classifier, scope, match);
+        match = match(wildcardRules, type, classifier, scope, match);
+        return match != null ? match.dependency : null;
+    }
+
+    /**
+     *
+     * @return the rule matching with the lowest index, among the specified rules and the specified current match
+     */
+    private static <T extends Dependency> Rule<T> match(List<Rule<T>> rules, String type, String classifier, String scope, Rule<T> currentMatch) {
+        for (Rule<T> rule : rules) {
+            if (currentMatch != null && rule.index > currentMatch.index) {
+                // rules are sorted by index, no further rule may win
+                break;
+            }
+            if (rule.matches(type, classifier, scope)) {
+                return rule;
+            }
+        }
+        return currentMatch;
+    }
+
+    private static class Rule<T extends Dependency> {
+
+        private final int index;
+        private final T dependency;
+        private final String type;
+        private final String classifier;
+        private final String scope;
+
+        private Rule(int index, T dependency) {
+            this.index = index;
+            this.dependency = dependency;
+            this.type = dependency.getType();
+            this.classifier = dependency.getClassifier();
+            final String scope = trim(dependency.getScope());
+            this.scope = scope != null && !scope.isEmpty() && !WILDCARD.equals(scope) ? dependency.getScope() : null;
+        }
+
+        private boolean matches(String type, String classifier, String scope) {
+            if (!WILDCARD.equals(this.type) && !type.equals(this.type)) {
+                return false;
+            }
+            if (!WILDCARD.equals(this.classifier)) {
+                if (classifier == null) {
+                    if (this.classifier != null) {
+                        return false;
+                    }
+                } else if (!classifier.equals(this.classifier)) {
+                    return false;
+                }
+            }
+            return this.scope == null || scope.equals(this.scope);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.DependencyFilter;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.repository.RemoteRepository;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.codehaus.plexus.util.StringUtils.trim;
+
+/**
+ * Resolves the transitives of the builder's managed dependencies.
+ *
+ * Each dependency's transitives are resolved once, and its dependency graph kept in memory, so further lookups with
+ * different filters are done without resolving again. If a shared dependency graph was collected, lookups use it
+ * instead. Otherwise lookups of 1st level transitives collect, and keep, a separate graph with only the dependency and its
+ * direct dependencies, which is never replaced by the dependency's whole graph, so that the graphs collected do not
+ * depend on the order of concurrent lookups.
+ *
+ * Only the dependency graphs are collected, which just needs the POMs, the artifact files are never resolved.
+ *
+ * If a cache directory is set then each dependency's graph is also persisted, and reused by further builds, as long as
+ * the dependency, the exclusions and dependency management used to resolve it, and its POM in the local repository,
+ * are unchanged.
+ *
+ * A resolver may be shared by the BOMs generated in the same execution, which use the same exclusions and dependency
+ * management, thus its lookups may be done concurrently, and each dependency is resolved only once.
+ *
+ * If a resolution snapshot is set then the dependency graphs are recorded to it, or, if the snapshot is replayed, read
+ * from it instead of resolved.
+ */
+class DependencyTransitivesResolver {
+
+    private static final String FIRST_LEVEL_KEY_PREFIX = "first-level:";
+
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession repositorySystemSession;
+    private final List<RemoteRepository> repositories;
+    private final List<Exclusion> dependenciesExcludedFromResolving;
+    private final List<Dependency> dependencyManagementWithoutExclusions;
+    private final Artifact rootArtifact;
+    private final List<org.eclipse.aether.graph.Dependency> aDependencyManagement;
+    private final Log log;
+    private final File cacheDirectory;
+    private final String cacheKeySuffix;
+    private final ResolutionSnapshot resolutionSnapshot;
+    private final Map<String, DependencyGraph> dependencyGraphs = new ConcurrentHashMap<>();
+    private final Map<String, Object> dependencyGraphLocks = new ConcurrentHashMap<>();
+
+    private volatile DependencyGraph sharedDependencyGraph;
+    private boolean sharedDependencyGraphCollected;
+
+    /**
+     *
+     * @param mavenProject the builder's project
+     * @param repositorySystem the repository system
+     * @param repositorySystemSession the repository system session
+     * @param repositories the builder's remote repositories
+     * @param dependenciesExcludedFromResolving the exclusions to add to each dependency, when resolving its transitives
+     * @param dependencyManagementWithoutExclusions the dependency management to use when resolving transitives
+     * @param cacheDirectory the directory where resolved graphs are persisted, may be null
+     * @param resolutionSnapshot the snapshot where resolved graphs are recorded, or replayed from, may be null
+     * @param log the log
+     */
+    DependencyTransitivesResolver(MavenProject mavenProject, RepositorySystem repositorySystem, RepositorySystemSession repositorySystemSession, List<RemoteRepository> repositories, List<Exclusion> dependenciesExcludedFromResolving, List<Dependency> dependencyManagementWithoutExclusions, File cacheDirectory, ResolutionSnapshot resolutionSnapshot, Log log) {
+        this.repositorySystem = repositorySystem;
+        this.repositorySystemSession = repositorySystemSession;
+        this.repositories = repositories;
+        this.dependenciesExcludedFromResolving = dependenciesExcludedFromResolving;
+        this.dependencyManagementWithoutExclusions = dependencyManagementWithoutExclusions;
+        this.rootArtifact = RepositoryUtils.toArtifact(mavenProject.getArtifact());
+        // the dependency management is the same for all resolutions, thus converted only once
+        final ArtifactTypeRegistry stereotypes = repositorySystemSession.getArtifactTypeRegistry();
+        final List<org.eclipse.aether.graph.Dependency> aDependencyManagement = new ArrayList<>(dependencyManagementWithoutExclusions.size());
+        for (Dependency managedDependency : dependencyManagementWithoutExclusions) {
+            aDependencyManagement.add(RepositoryUtils.toDependency(managedDependency, stereotypes));
+        }
+        this.aDependencyManagement = Collections.unmodifiableList(aDependencyManagement);
+        this.cacheDirectory = cacheDirectory;
+        this.resolutionSnapshot = resolutionSnapshot;
+        this.log = log;
+        // the exclusions and dependency management are the same for all dependencies, and part of each cache and snapshot key
+        this.cacheKeySuffix = cacheDirectory != null || resolutionSnapshot != null ? getConfigurationKey(dependenciesExcludedFromResolving, dependencyManagementWithoutExclusions) : null;
+    }
+
+    /**
+     *
+     * @param dependenciesExcludedFromResolving the exclusions to add to each dependency, when resolving its transitives
+     * @param dependencyManagementWithoutExclusions the dependency management to use when resolving transitives
+     * @return a key identifying the resolution configuration, resolvers with the same key resolve the same transitives
+     */
+    static String getConfigurationKey(List<Exclusion> dependenciesExcludedFromResolving, List<Dependency> dependencyManagementWithoutExclusions) {
+        final StringBuilder sb = new StringBuilder();
+        for (Exclusion exclusion : dependenciesExcludedFromResolving) {
+            sb.append(exclusion.getGroupId()).append(':').append(exclusion.getArtifactId()).append('\n');
+        }
+        sb.append('\n');
+        for (Dependency managedDependency : dependencyManagementWithoutExclusions) {
+            sb.append(managedDependency.getManagementKey()).append(':').append(managedDependency.getVersion()).append(':').append(managedDependency.getScope()).append(':').append(managedDependency.getOptional()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Collects a single dependency graph, with all managed dependencies, to be used by further transitives lookups.
+     * Conflicts are not resolved in such graph, and if collecting it fails then each dependency's transitives are resolved separately.
+     * The graph is collected only once, further invocations do nothing.
+     * @param metrics the execution metrics
+     */
+    synchronized void collectSharedDependencyGraph(ExecutionMetrics metrics) {
+        if (sharedDependencyGraphCollected) {
+            return;
+        }
+        sharedDependencyGraphCollected = true;
+        final String snapshotKey = resolutionSnapshot != null ? sha256("shared\n" + cacheKeySuffix) : null;
+        if (resolutionSnapshot != null && resolutionSnapshot.isReplay()) {
+            // if not in the snapshot then its collection failed, and each dependency's graph was recorded instead
+            sharedDependencyGraph = resolutionSnapshot.getDependencyGraph(snapshotKey);
+            return;
+        }
+        final ArtifactTypeRegistry stereotypes = repositorySystemSession.getArtifactTypeRegistry();
+        final CollectRequest collectRequest = newCollectRequest();
+        for (Dependency managedDependency : dependencyManagementWithoutExclusions) {
+            // each managed dependency is added as a dependency, same as when resolving its transitives separately
+            collectRequest.addDependency(RepositoryUtils.toDependency(toResolvableDependency(managedDependency), stereotypes));
+        }
+        // do not resolve conflicts, otherwise a dependency's transitives could be removed due to other dependencies
+        final DefaultRepositorySystemSession session = new DefaultRepositorySystemSession(repositorySystemSession);
+        session.setDependencyGraphTransformer(null);
+        log.info("Collecting shared dependency graph for " + dependencyManagementWithoutExclusions.size() + " managed dependencies...");
+        try {
+            metrics.increment(ExecutionMetrics.COUNTER_RESOLVER_CALLS);
+            sharedDependencyGraph = new DependencyGraph(repositorySystem.collectDependencies(session, collectRequest).getRoot());
+            if (resolutionSnapshot != null) {
+                resolutionSnapshot.putDependencyGraph(snapshotKey, sharedDependencyGraph);
+            }
+        } catch (DependencyCollectionException e) {
+            log.warn("Failed to collect shared dependency graph, the transitives of each dependency will be resolved separately: " + e.getMessage());
+            log.debug(e);
+        }
+    }
+
+    /**
+     *
+     * @param dependency a managed dependency
+     * @param metrics the execution metrics
+     * @return the dependency's 1st level transitives
+     * @throws MojoExecutionException if the dependency's transitives resolution failed
+     */
+    List<Dependency> getFirstLevelTransitives(Dependency dependency, ExecutionMetrics metrics) throws MojoExecutionException {
+        final DependencyFilter dependencyFilter = new DependencyFilter() {
+            @Override
+            public boolean accept(DependencyNode node, List<DependencyNode> parents) {
+                // only 1st level dependencies accepted
+                return parents.size() == 2;
+            }
+        };
+        final DependencyGraph sharedDependencyGraph = this.sharedDependencyGraph;
+        if (sharedDependencyGraph != null && sharedDependencyGraph.contains(toArtifact(dependency))) {
+            return getTransitives(dependency, dependencyFilter, metrics);
+        }
+        // no need to collect the whole graph, just the dependency and its direct dependencies
+        return toResolvedDependencies(getDependencyGraph(dependency, FIRST_LEVEL_KEY_PREFIX + getKey(dependency), true, metrics).getDependencies(dependencyFilter));
+    }
+
+    /**
+     *
+     * @param dependency a managed dependency
+     * @param filter the filter to apply
+     * @param metrics the execution metrics
+     * @return the dependency, and its transitives, accepted by the filter
+     * @throws MojoExecutionException if the dependency's transitives resolution failed
+     */
+    List<Dependency> getTransitives(Dependency dependency, DependencyFilter filter, ExecutionMetrics metrics) throws MojoExecutionException {
+        final List<org.eclipse.aether.graph.Dependency> aDependencies;
+        final Artifact artifact = toArtifact(dependency);
+        final DependencyGraph sharedDependencyGraph = this.sharedDependencyGraph;
+        if (sharedDependencyGraph != null && sharedDependencyGraph.contains(artifact)) {
+            metrics.increment(ExecutionMetrics.COUNTER_SHARED_GRAPH_HITS);
+            aDependencies = sharedDependencyGraph.getDependencies(artifact, filter);
+        } else {
+            if (sharedDependencyGraph != null) {
+                log.debug("Dependency "+dependency.getManagementKey()+" not found in the shared dependency graph, resolving its transitives...");
+            }
+            aDependencies = getDependencyGraph(dependency, getKey(dependency), false, metrics).getDependencies(filter);
+        }
+        return toResolvedDependencies(aDependencies);
+    }
+
+    /**
+     *
+     * @param dependency a managed dependency
+     * @param key the graph's key
+     * @param firstLevel if only the dependency's 1st level transitives should be collected
+     * @param metrics the execution metrics
+     * @return the dependency's graph
+     * @throws MojoExecutionException if the dependency's transitives resolution failed
+     */
+    private DependencyGraph getDependencyGraph(Dependency dependency, String key, boolean firstLevel, ExecutionMetrics metrics) throws MojoExecutionException {
+        DependencyGraph dependencyGraph = dependencyGraphs.get(key);
+        if (dependencyGraph == null) {
+            // concurrent lookups of the same dependency wait for a single resolution
+            synchronized (dependencyGraphLocks.computeIfAbsent(key, k -> new Object())) {
+                dependencyGraph = dependencyGraphs.get(key);
+                if (dependencyGraph == null) {
+                    dependencyGraph = loadDependencyGraph(dependency, key, firstLevel, metrics);
+                    dependencyGraphs.put(key, dependencyGraph);
+                } else {
+                    metrics.increment(ExecutionMetrics.COUNTER_MEMORY_CACHE_HITS);
+                }
+            }
+        } else {
+            metrics.increment(ExecutionMetrics.COUNTER_MEMORY_CACHE_HITS);
+        }
+        return dependencyGraph;
+    }
+
+    private DependencyGraph loadDependencyGraph(Dependency dependency, String key, boolean firstLevel, ExecutionMetrics metrics) throws MojoExecutionException {
+        final String keyHash = cacheKeySuffix != null ? sha256(key + '\n' + cacheKeySuffix) : null;
+        if (resolutionSnapshot != null && resolutionSnapshot.isReplay()) {
+            final DependencyGraph dependencyGraph = resolutionSnapshot.getDependencyGraph(keyHash);
+            if (dependencyGraph == null) {
+                throw new MojoExecutionException("Transitives of dependency "+key+" not found in the resolution snapshot, it should be recorded again");
+            }
+            return dependencyGraph;
+        }
+        final File cacheFile = cacheDirectory != null ? new File(cacheDirectory, keyHash + ".txt") : null;
+        DependencyGraph dependencyGraph = cacheFile != null ? readCachedDependencyGraph(dependency, cacheFile, metrics) : null;
+        if (dependencyGraph == null) {
+            dependencyGraph = collectDependencyGraph(dependency, firstLevel, metrics);
+            if (cacheFile != null) {
+                writeCachedDependencyGraph(dependency, dependencyGraph, cacheFile);
+            }
+        }
+        if (resolutionSnapshot != null) {
+            resolutionSnapshot.putDependencyGraph(keyHash, dependencyGraph);
+        }
+        return dependencyGraph;
+    }
+
+    /**
+     *
+     * @return a new collect request, same as the one built when resolving the builder's dependencies, with the dependency management to use when resolving transitives
+     */
+    private CollectRequest newCollectRequest() {
+        final CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRootArtifact(rootArtifact);
+        collectRequest.setRequestContext("project");
+        collectRequest.setRepositories(repositories);
+        // the collector only reads the managed dependencies, thus all requests share the same list
+        collectRequest.setManagedDependencies(aDependencyManagement);
+        return collectRequest;
+    }
+
+    private DependencyGraph collectDependencyGraph(Dependency dependency, boolean firstLevel, ExecutionMetrics metrics) throws MojoExecutionException {
+        final CollectRequest collectRequest = newCollectRequest();
+        collectRequest.addDependency(RepositoryUtils.toDependency(toResolvableDependency(dependency), repositorySystemSession.getArtifactTypeRegistry()));
+        RepositorySystemSession session = repositorySystemSession;
+        if (firstLevel) {
+            // the collector still reads the descriptors of the direct dependencies, which are thus selected, managed and
+            // relocated as usual, only their own dependencies are not collected
+            final DefaultRepositorySystemSession firstLevelSession = new DefaultRepositorySystemSession(repositorySystemSession);
+            firstLevelSession.setDependencyTraverser(new FirstLevelDependencyTraverser(repositorySystemSession.getDependencyTraverser()));
+            session = firstLevelSession;
+            metrics.increment(ExecutionMetrics.COUNTER_FIRST_LEVEL_COLLECTIONS);
+        }
+        metrics.increment(ExecutionMetrics.COUNTER_RESOLVER_CALLS);
+        try {
+            // lookups just need the graph, thus no artifacts are resolved
+            return new DependencyGraph(repositorySystem.collectDependencies(session, collectRequest).getRoot());
+        } catch (DependencyCollectionException e) {
+            throw new MojoExecutionException(e.getMessage(),e);
+        }
+    }
+
+    private DependencyGraph readCachedDependencyGraph(Dependency dependency, File cacheFile, ExecutionMetrics metrics) {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        final String pomState = getLocalRepositoryPomState(dependency);
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile.toPath(), StandardCharsets.UTF_8)) {
+            if (pomState == null || !pomState.equals(reader.readLine())) {
+                log.debug("Ignoring cached transitives of dependency "+dependency.getManagementKey()+", its POM changed");
+                return null;
+            }
+            final DependencyGraph dependencyGraph = DependencyGraph.read(reader);
+            metrics.increment(ExecutionMetrics.COUNTER_DISK_CACHE_HITS);
+            log.debug("Transitives of dependency "+dependency.getManagementKey()+" read from cache "+cacheFile);
+            return dependencyGraph;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to read cached transitives of dependency "+dependency.getManagementKey()+" from "+cacheFile+": "+e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCachedDependencyGraph(Dependency dependency, DependencyGraph dependencyGraph, File cacheFile) {
+        final String pomState = getLocalRepositoryPomState(dependency);
+        if (pomState == null) {
+            // e.g. a reactor dependency
+            log.debug("Not caching transitives of dependency "+dependency.getManagementKey()+", its POM is not in the local repository");
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDirectory.toPath());
+            final Path tempFile = Files.createTempFile(cacheDirectory.toPath(), cacheFile.getName(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    writer.write(pomState);
+                    writer.write('\n');
+                    dependencyGraph.write(writer);
+                }
+                try {
+                    Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to cache transitives of dependency "+dependency.getManagementKey()+" to "+cacheFile+": "+e.getMessage());
+        }
+    }
+
+    /**
+     *
+     * @param dependency a dependency
+     * @return the last modified time and size of the dependency's POM in the local repository, null if not found
+     */
+    private String getLocalRepositoryPomState(Dependency dependency) {
+        final Artifact pomArtifact = new DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(), "pom", dependency.getVersion());
+        final File pom = new File(repositorySystemSession.getLocalRepository().getBasedir(), repositorySystemSession.getLocalRepositoryManager().getPathForLocalArtifact(pomArtifact));
+        return pom.isFile() ? pom.lastModified() + ":" + pom.length() : null;
+    }
+
+    private static String sha256(String s) {
+        try {
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(s.getBytes(StandardCharsets.UTF_8))) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getKey(Dependency dependency) {
+        return dependency.getManagementKey() + ":" + dependency.getVersion();
+    }
+
+    private Artifact toArtifact(Dependency dependency) {
+        return RepositoryUtils.toDependency(dependency, repositorySystemSession.getArtifactTypeRegistry()).getArtifact();
+    }
+
+    private static List<Dependency> toResolvedDependencies(List<org.eclipse.aether.graph.Dependency> aDependencies) {
+        final List<Dependency> resolvedDependencies = new ArrayList<>(aDependencies.size());
+        for (org.eclipse.aether.graph.Dependency aDependency : aDependencies) {
+            resolvedDependencies.add(toResolvedDependency(aDependency));
+        }
+        return resolvedDependencies;
+    }
+
+    private Dependency toResolvableDependency(Dependency dependency) {
+        final Dependency managedDependencyClone = dependency.clone();
+        managedDependencyClone.setExclusions(dependenciesExcludedFromResolving);
+        // replace any import scopes with compile
+        if ("import".equals(managedDependencyClone.getScope())) {
+            managedDependencyClone.setScope("compile");
+        }
+        return managedDependencyClone;
+    }
+
+    static Dependency toResolvedDependency(org.eclipse.aether.graph.Dependency aDependency) {
+        final Dependency resolvedDependency = new Dependency();
+        resolvedDependency.setGroupId(trim(aDependency.getArtifact().getGroupId()));
+        resolvedDependency.setArtifactId(trim(aDependency.getArtifact().getArtifactId()));
+        resolvedDependency.setType(trim(aDependency.getArtifact().getExtension()));
+        String resolvedClassifier = trim(aDependency.getArtifact().getClassifier());
+        if (resolvedClassifier != null && !resolvedClassifier.isEmpty()) {
+            resolvedDependency.setClassifier(resolvedClassifier);
+        }
+        resolvedDependency.setVersion(aDependency.getArtifact().getVersion());
+        return resolvedDependency;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Exclusion;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A hashed index of exclusions, which matches an exclusion in constant time, instead of comparing it with each indexed
+ * exclusion.
+ *
+ * If wildcards are enabled, an indexed exclusion with a {@code *} groupId and/or artifactId matches any exclusion with
+ * the same artifactId and/or groupId, and also an exclusion with the same literal wildcards. Otherwise all indexed
+ * exclusions match only the exclusions with the same literal groupId and artifactId.
+ */
+class ExclusionIndex {
+
+    private static final String WILDCARD = "*";
+
+    private final Set<String> keys;
+    private final Set<String> groupIds;
+    private final Set<String> artifactIds;
+    private final boolean wildcards;
+    private boolean all;
+
+    /**
+     *
+     * @param wildcards if indexed exclusions with wildcards match any groupId and/or artifactId
+     */
+    ExclusionIndex(boolean wildcards) {
+        this.wildcards = wildcards;
+        this.keys = new HashSet<>();
+        this.groupIds = new HashSet<>();
+        this.artifactIds = new HashSet<>();
+    }
+
+    /**
+     * Creates an index with the exclusions indexed by the specified index.
+     * @param index the index to copy
+     */
+    ExclusionIndex(ExclusionIndex index) {
+        this.keys = new HashSet<>(index.keys);
+        this.groupIds = new HashSet<>(index.groupIds);
+        this.artifactIds = new HashSet<>(index.artifactIds);
+        this.wildcards = index.wildcards;
+        this.all = index.all;
+    }
+
+    /**
+     *
+     * @param exclusions the exclusions to index, may be null
+     * @param wildcards if indexed exclusions with wildcards match any groupId and/or artifactId
+     * @return an index with the specified exclusions
+     */
+    static ExclusionIndex of(Collection<Exclusion> exclusions, boolean wildcards) {
+        final ExclusionIndex index = new ExclusionIndex(wildcards);
+        if (exclusions != null) {
+            for (Exclusion exclusion : exclusions) {
+                index.add(exclusion);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Indexes an exclusion, which may have wildcards.
+     * @param exclusion the exclusion
+     */
+    void add(Exclusion exclusion) {
+        keys.add(exclusion.getGroupId() + ":" + exclusion.getArtifactId());
+        if (!wildcards) {
+            return;
+        }
+        final String groupId = exclusion.getGroupId().trim();
+        final String artifactId = exclusion.getArtifactId().trim();
+        if (WILDCARD.equals(groupId)) {
+            if (WILDCARD.equals(artifactId)) {
+                all = true;
+            } else {
+                artifactIds.add(artifactId);
+            }
+        } else if (WILDCARD.equals(artifactId)) {
+            groupIds.add(groupId);
+        }
+    }
+
+    /**
+     * Indexes an exclusion key, without wildcards.
+     * @param key the exclusion's groupId and artifactId, separated by {@code :}
+     */
+    void add(String key) {
+        keys.add(key);
+    }
+
+    /**
+     *
+     * @param exclusion an exclusion
+     * @return true if the exclusion is matched by any indexed exclusion
+     */
+    boolean matches(Exclusion exclusion) {
+        return all || keys.contains(exclusion.getGroupId() + ":" + exclusion.getArtifactId()) || groupIds.contains(exclusion.getGroupId()) || artifactIds.contains(exclusion.getArtifactId());
+    }
+}
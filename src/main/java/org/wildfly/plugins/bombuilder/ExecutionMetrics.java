@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.plugin.logging.Log;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a BOM build execution, i.e. the time spent in each phase, and counters such as the number of
+ * dependencies processed or resolved.
+ *
+ * Phases are sequential, starting a phase ends the current one, and the time of a phase started more than once is
+ * accumulated. Counters may be incremented concurrently.
+ */
+class ExecutionMetrics {
+
+    static final String PHASE_INITIALIZE_MODEL = "initializeModel";
+    static final String PHASE_MANAGED_DEPENDENCIES = "managedDependencies";
+    static final String PHASE_CHANNEL_RESOLUTION = "channelResolution";
+    static final String PHASE_TRANSITIVE_RESOLUTION = "transitiveResolution";
+    static final String PHASE_EXCLUSION_RESOLUTION = "exclusionResolution";
+    static final String PHASE_VERSION_TRANSFORMATION = "versionTransformation";
+    static final String PHASE_WRITE = "write";
+
+    static final String COUNTER_BUILDER_DEPENDENCIES = "builderDependencies";
+    static final String COUNTER_BOM_DEPENDENCIES = "bomManagedDependencies";
+    static final String COUNTER_CHANNEL_LOOKUPS = "channelLookups";
+    static final String COUNTER_CHANNEL_MISSES = "channelMisses";
+    static final String COUNTER_RESOLVER_CALLS = "resolverCalls";
+    static final String COUNTER_FIRST_LEVEL_COLLECTIONS = "firstLevelCollections";
+    static final String COUNTER_SHARED_GRAPH_HITS = "sharedGraphHits";
+    static final String COUNTER_MEMORY_CACHE_HITS = "memoryCacheHits";
+    static final String COUNTER_DISK_CACHE_HITS = "diskCacheHits";
+
+    private final long startTime = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private final Map<String, LongAdder> counters = Collections.synchronizedMap(new LinkedHashMap<>());
+    private String currentPhase;
+    private long currentPhaseStartTime;
+    private long endTime;
+
+    /**
+     * Starts a phase, ending the current phase, if any.
+     * @param phase the phase to start, null to only end the current phase
+     * @return the phase ended, null if none
+     */
+    String startPhase(String phase) {
+        final long now = System.nanoTime();
+        final String previousPhase = currentPhase;
+        if (previousPhase != null) {
+            phases.merge(previousPhase, now - currentPhaseStartTime, Long::sum);
+        }
+        if (phase != null) {
+            phases.putIfAbsent(phase, 0L);
+        }
+        currentPhase = phase;
+        currentPhaseStartTime = now;
+        return previousPhase;
+    }
+
+    /**
+     * Ends the current phase, and the execution.
+     */
+    void end() {
+        startPhase(null);
+        endTime = System.nanoTime();
+    }
+
+    /**
+     *
+     * @param counter the counter to increment
+     */
+    void increment(String counter) {
+        add(counter, 1);
+    }
+
+    /**
+     *
+     * @param counter the counter to increment
+     * @param value the value to add
+     */
+    void add(String counter, long value) {
+        counters.computeIfAbsent(counter, k -> new LongAdder()).add(value);
+    }
+
+    /**
+     *
+     * @param counter a counter
+     * @return the counter's value
+     */
+    long getCounter(String counter) {
+        final LongAdder adder = counters.get(counter);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    /**
+     *
+     * @param phase a phase
+     * @return the time spent in the phase, in milliseconds
+     */
+    long getPhaseMillis(String phase) {
+        final Long time = phases.get(phase);
+        return time != null ? TimeUnit.NANOSECONDS.toMillis(time) : 0;
+    }
+
+    /**
+     * Logs the metrics as a table.
+     * @param log the log
+     */
+    void log(Log log) {
+        log.info("BOM build metrics:");
+        log.info(String.format("  %-32s %12s", "Phase", "Time (ms)"));
+        for (String phase : phases.keySet()) {
+            log.info(String.format("  %-32s %12d", phase, getPhaseMillis(phase)));
+        }
+        log.info(String.format("  %-32s %12d", "total", TimeUnit.NANOSECONDS.toMillis(endTime - startTime)));
+        log.info(String.format("  %-32s %12s", "Counter", "Value"));
+        synchronized (counters) {
+            for (String counter : counters.keySet()) {
+                log.info(String.format("  %-32s %12d", counter, getCounter(counter)));
+            }
+        }
+    }
+
+    /**
+     * Writes the metrics as JSON.
+     * @param bom the BOM's coordinates
+     * @param writer the writer
+     * @throws IOException if the write failed
+     */
+    void writeJson(String bom, Writer writer) throws IOException {
+        writer.write("{\n");
+        writer.write("  \"bom\": \"" + escapeJson(bom) + "\",\n");
+        writer.write("  \"totalMillis\": " + TimeUnit.NANOSECONDS.toMillis(endTime - startTime) + ",\n");
+        writer.write("  \"phases\": {");
+        String separator = "\n";
+        for (String phase : phases.keySet()) {
+            writer.write(separator + "    \"" + escapeJson(phase) + "\": " + getPhaseMillis(phase));
+            separator = ",\n";
+        }
+        writer.write("\n  },\n");
+        writer.write("  \"counters\": {");
+        separator = "\n";
+        synchronized (counters) {
+            for (String counter : counters.keySet()) {
+                writer.write(separator + "    \"" + escapeJson(counter) + "\": " + getCounter(counter));
+                separator = ",\n";
+            }
+        }
+        writer.write("\n  }\n");
+        writer.write("}\n");
+    }
+
+    private static String escapeJson(String s) {
+        final StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
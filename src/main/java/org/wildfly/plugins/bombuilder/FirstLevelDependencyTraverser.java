@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencyTraverser;
+import org.eclipse.aether.graph.Dependency;
+
+import java.util.Objects;
+
+/**
+ * A dependency traverser which only traverses the direct dependencies of a collect request, thus the collected graph
+ * contains these and their 1st level transitives, selected and managed same as when collecting the whole graph. Not
+ * traversing a dependency only skips collecting its dependencies, the collector still reads its descriptor, and thus
+ * applies its relocation.
+ *
+ * The dependencies traversed are further filtered by the session's traverser, if any.
+ */
+class FirstLevelDependencyTraverser implements DependencyTraverser {
+
+    private final DependencyTraverser traverser;
+    private final int depth;
+
+    /**
+     *
+     * @param traverser the session's traverser, may be null
+     */
+    FirstLevelDependencyTraverser(DependencyTraverser traverser) {
+        this(traverser, 0);
+    }
+
+    private FirstLevelDependencyTraverser(DependencyTraverser traverser, int depth) {
+        this.traverser = traverser;
+        this.depth = depth;
+    }
+
+    @Override
+    public boolean traverseDependency(Dependency dependency) {
+        // depth 1 is the root's children, i.e. the request's dependencies
+        return depth < 2 && (traverser == null || traverser.traverseDependency(dependency));
+    }
+
+    @Override
+    public DependencyTraverser deriveChildTraverser(DependencyCollectionContext context) {
+        if (depth >= 2) {
+            return this;
+        }
+        return new FirstLevelDependencyTraverser(traverser != null ? traverser.deriveChildTraverser(context) : null, depth + 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final FirstLevelDependencyTraverser that = (FirstLevelDependencyTraverser) o;
+        return depth == that.depth && Objects.equals(traverser, that.traverser);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(traverser, depth);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The management keys of the builder's managed dependencies included in the BOM, in the order these were first
+ * included, and which of these should have its transitives included too.
+ */
+class IncludedDependencies {
+
+    private final Set<String> included = new LinkedHashSet<>();
+    private final Set<String> includedWithTransitives = new LinkedHashSet<>();
+
+    /**
+     * Includes a dependency, keeping its position if previously included.
+     * @param managementKey the dependency management key
+     * @param transitive true if the dependency's transitives should be included too
+     */
+    void include(String managementKey, boolean transitive) {
+        included.add(managementKey);
+        if (transitive) {
+            includedWithTransitives.add(managementKey);
+        }
+    }
+
+    /**
+     *
+     * @param managementKey the dependency management key
+     * @return true if the dependency was included, with or without transitives
+     */
+    boolean contains(String managementKey) {
+        return included.contains(managementKey);
+    }
+
+    /**
+     *
+     * @param managementKey the dependency management key
+     * @return true if the dependency was included with transitives
+     */
+    boolean containsWithTransitives(String managementKey) {
+        return includedWithTransitives.contains(managementKey);
+    }
+
+    /**
+     *
+     * @return true if any dependency was included with transitives
+     */
+    boolean hasTransitives() {
+        return !includedWithTransitives.isEmpty();
+    }
+
+    /**
+     *
+     * @return the management keys of all included dependencies, in inclusion order
+     */
+    Set<String> getManagementKeys() {
+        return Collections.unmodifiableSet(included);
+    }
+}
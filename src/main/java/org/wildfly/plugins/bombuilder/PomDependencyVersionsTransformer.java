@@ -23,14 +23,17 @@
 
 package org.wildfly.plugins.bombuilder;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeMap;
 
 import org.apache.maven.model.Dependency;
-import org.apache.maven.model.DependencyManagement;
 import org.apache.maven.model.Model;
 
 class PomDependencyVersionsTransformer {
@@ -38,69 +41,181 @@ class PomDependencyVersionsTransformer {
 
     public Model transformPomModel(Model model) {
         Model pomModel = model.clone();
-        DependencyManagement depMgmt = pomModel.getDependencyManagement();
-        Map<String, String> groupIdArtifactIdVersions = new TreeMap<>();
-        Map<String, String> groupIdArtifactIdPropertyNames = new TreeMap<>();
-        Map<String, String> groupIdVersions = new TreeMap<>();
-        Map<String, Set<String>> groupIdArtifactIds = new TreeMap<>();
-        for (Dependency dependency : depMgmt.getDependencies()) {
-            String groupId = dependency.getGroupId();
-            String artifactId = dependency.getArtifactId();
-            String groupIdArtifactId = groupId + ":" + artifactId;
-            groupIdArtifactIdVersions.put(groupIdArtifactId, dependency.getVersion());
-            groupIdVersions.put(groupId, dependency.getVersion());
-
-            Set<String> artifactIds = groupIdArtifactIds.get(groupId);
-            if (artifactIds == null) {
-                artifactIds = new HashSet<>();
-                groupIdArtifactIds.put(groupId, artifactIds);
+        transformDependencyVersions(pomModel);
+        return pomModel;
+    }
+
+    /**
+     * Replaces the versions of the model's managed dependencies with properties, in place, i.e. without the copy of
+     * the whole model made by {@link #transformPomModel(Model)}.
+     * @param pomModel the model to transform, which must have a dependency management
+     */
+    void transformDependencyVersions(Model pomModel) {
+        transformDependencyVersions(pomModel, VersionPropertyStrategy.GROUP, null, null);
+    }
+
+    /**
+     * Replaces the versions of the model's managed dependencies with properties, in place.
+     *
+     * The properties explicitly named, by the matching version property rules, or by the builder if the strategy is
+     * {@link VersionPropertyStrategy#BUILDER}, are added first, ordered by name, followed by the properties named by
+     * the strategy, ordered by groupId. A dependency with an explicitly named property, which is already defined with
+     * another version, uses a property named by the strategy instead.
+     * @param pomModel the model to transform, which must have a dependency management
+     * @param strategy the strategy to name the properties
+     * @param versionPropertiesMatcher the matcher of version property rules, may be null
+     * @param builderVersionProperties the names of the properties which define the versions of the builder's managed dependencies, mapped by management key, may be null
+     */
+    void transformDependencyVersions(Model pomModel, VersionPropertyStrategy strategy, DependencyMatcher<VersionProperty> versionPropertiesMatcher, Map<String, String> builderVersionProperties) {
+        final List<Dependency> dependencies = pomModel.getDependencyManagement().getDependencies();
+        final Map<String, String> namedProperties = new TreeMap<>();
+        final String[] namedPropertyExpressions = new String[dependencies.size()];
+        // group the dependencies without explicitly named properties by groupId, in a single pass
+        final Map<String, DependencyGroup> groups = new HashMap<>();
+        final DependencyGroup[] dependencyGroups = new DependencyGroup[dependencies.size()];
+        for (int i = 0; i < dependencyGroups.length; i++) {
+            final Dependency dependency = dependencies.get(i);
+            final String propertyName = getPropertyName(dependency, strategy, versionPropertiesMatcher, builderVersionProperties);
+            if (propertyName != null) {
+                final String propertyVersion = namedProperties.putIfAbsent(propertyName, dependency.getVersion());
+                if (propertyVersion == null || propertyVersion.equals(dependency.getVersion())) {
+                    namedPropertyExpressions[i] = "${" + propertyName + "}";
+                    continue;
+                }
+            }
+            DependencyGroup group = groups.get(dependency.getGroupId());
+            if (group == null) {
+                group = new DependencyGroup(dependency.getGroupId());
+                groups.put(dependency.getGroupId(), group);
             }
-            artifactIds.add(artifactId);
+            group.add(dependency.getArtifactId(), dependency.getVersion());
+            dependencyGroups[i] = group;
+        }
+        // add the version properties, the named ones first, then the groups ordered by groupId
+        final Properties properties = pomModel.getProperties();
+        for (Map.Entry<String, String> namedProperty : namedProperties.entrySet()) {
+            properties.setProperty(namedProperty.getKey(), namedProperty.getValue());
+        }
+        final List<DependencyGroup> orderedGroups = new ArrayList<>(groups.values());
+        orderedGroups.sort(Comparator.comparing(group -> group.groupId));
+        for (DependencyGroup group : orderedGroups) {
+            group.addVersionProperties(properties, strategy == VersionPropertyStrategy.MAJORITY, namedProperties);
+        }
+        // replace the versions with the properties
+        for (int i = 0; i < dependencyGroups.length; i++) {
+            final Dependency dependency = dependencies.get(i);
+            dependency.setVersion(namedPropertyExpressions[i] != null ? namedPropertyExpressions[i] : dependencyGroups[i].getVersionExpression(dependency.getArtifactId()));
+        }
+    }
+
+    private String getPropertyName(Dependency dependency, VersionPropertyStrategy strategy, DependencyMatcher<VersionProperty> versionPropertiesMatcher, Map<String, String> builderVersionProperties) {
+        if (versionPropertiesMatcher != null) {
+            final VersionProperty versionProperty = versionPropertiesMatcher.match(dependency);
+            if (versionProperty != null && versionProperty.getPropertyName() != null) {
+                return versionProperty.getPropertyName();
+            }
+        }
+        if (strategy == VersionPropertyStrategy.BUILDER && builderVersionProperties != null) {
+            return builderVersionProperties.get(dependency.getManagementKey());
+        }
+        return null;
+    }
+
+    /**
+     * The managed dependencies with the same groupId.
+     */
+    private static class DependencyGroup {
+
+        private final String groupId;
+        // the last version of each artifactId, note that the iteration order of a hash map defines the order of the artifactId properties
+        private final Map<String, String> artifactVersions = new HashMap<>();
+        private final Set<String> versions = new LinkedHashSet<>();
+        private String lastVersion;
+        private String groupVersion;
+        private String groupVersionExpression;
+        private Map<String, String> artifactVersionExpressions;
+
+        private DependencyGroup(String groupId) {
+            this.groupId = groupId;
+        }
+
+        private void add(String artifactId, String version) {
+            artifactVersions.put(artifactId, version);
+            versions.add(version);
+            lastVersion = version;
         }
 
-        Properties properties = pomModel.getProperties();
-        for (Map.Entry<String, String> groupVersion : groupIdVersions.entrySet()) {
-            String groupId = groupVersion.getKey();
-            Set<String> artifactIds = groupIdArtifactIds.get(groupId);
-            if (artifactIds.size() == 1 || allArtifactsInGroupHaveSameVersion(groupId, groupIdArtifactIdVersions, artifactIds)) {
-                String propertyName = "version." + groupId;
-                properties.setProperty(propertyName, groupVersion.getValue());
-                for (String artifactId : artifactIds) {
-                    String groupIdArtifactId = groupId + ":" + artifactId;
-                    groupIdArtifactIdPropertyNames.put(groupIdArtifactId, propertyName);
+        private void addVersionProperties(Properties properties, boolean majority, Map<String, String> namedProperties) {
+            if (artifactVersions.size() == 1 || allArtifactsHaveSameVersion()) {
+                groupVersion = lastVersion;
+            } else if (majority) {
+                groupVersion = getMajorityVersion();
+            }
+            if (groupVersion != null) {
+                final String propertyName = "version." + groupId;
+                final String namedPropertyVersion = namedProperties.get(propertyName);
+                if (namedPropertyVersion == null || namedPropertyVersion.equals(groupVersion)) {
+                    properties.setProperty(propertyName, groupVersion);
+                    groupVersionExpression = "${" + propertyName + "}";
+                } else {
+                    groupVersion = null;
                 }
-            } else {
-                for (String artifactId : artifactIds) {
-                    String groupIdArtifactId = groupId + ":" + artifactId;
-                    String propertyName = "version." + groupId + "." + artifactId;
-                    groupIdArtifactIdPropertyNames.put(groupIdArtifactId, propertyName);
-                    properties.setProperty(propertyName, groupIdArtifactIdVersions.get(groupIdArtifactId));
+            }
+            artifactVersionExpressions = new HashMap<>();
+            for (Map.Entry<String, String> artifactVersion : artifactVersions.entrySet()) {
+                if (groupVersion != null && groupVersion.equals(artifactVersion.getValue())) {
+                    continue;
                 }
+                final String propertyName = "version." + groupId + "." + artifactVersion.getKey();
+                properties.setProperty(propertyName, artifactVersion.getValue());
+                artifactVersionExpressions.put(artifactVersion.getKey(), "${" + propertyName + "}");
             }
         }
-        for (Dependency dependency : depMgmt.getDependencies()) {
-            String groupId = dependency.getGroupId();
-            String artifactId = dependency.getArtifactId();
-            String groupIdArtifactId = groupId + ":" + artifactId;
-            String propertyName = groupIdArtifactIdPropertyNames.get(groupIdArtifactId);
-            dependency.setVersion("${" + propertyName + "}");
+
+        private String getVersionExpression(String artifactId) {
+            if (artifactVersionExpressions != null) {
+                final String artifactVersionExpression = artifactVersionExpressions.get(artifactId);
+                if (artifactVersionExpression != null) {
+                    return artifactVersionExpression;
+                }
+            }
+            return groupVersionExpression;
+        }
+
+        private boolean allArtifactsHaveSameVersion() {
+            String version = null;
+            for (String artifactVersion : artifactVersions.values()) {
+                if (version == null) {
+                    version = artifactVersion;
+                } else {
+                    if (!version.equals(artifactVersion)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
         }
-        return pomModel;
-    }
 
-    private boolean allArtifactsInGroupHaveSameVersion(String groupId, Map<String, String> groupIdArtifactIdVersions, Set<String> artifactIds) {
-        String version = null;
-        for (String artifactId : artifactIds) {
-            String groupIdArtifactId = groupId + ":" + artifactId;
-            if (version == null) {
-                version = groupIdArtifactIdVersions.get(groupIdArtifactId);
-            } else {
-                if (!version.equals(groupIdArtifactIdVersions.get(groupIdArtifactId))) {
-                    return false;
+        /**
+         *
+         * @return the version of most artifacts, if more than one then the first added
+         */
+        private String getMajorityVersion() {
+            final Map<String, Integer> artifactsPerVersion = new HashMap<>();
+            for (String artifactVersion : artifactVersions.values()) {
+                artifactsPerVersion.merge(artifactVersion, 1, Integer::sum);
+            }
+            String majorityVersion = null;
+            int majorityVersionArtifacts = 0;
+            for (String version : versions) {
+                final Integer versionArtifacts = artifactsPerVersion.get(version);
+                if (versionArtifacts != null && versionArtifacts > majorityVersionArtifacts) {
+                    majorityVersion = version;
+                    majorityVersionArtifacts = versionArtifacts;
                 }
             }
+            return majorityVersion;
         }
-        return true;
     }
 
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.apache.maven.model.Dependency;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.util.artifact.ArtifactIdUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A snapshot of the results of the resolutions done by a BOM build, i.e. the dependency graphs of the builder's
+ * dependencies, the latest versions found on channels, and the resolved dependencies included by the BOM.
+ *
+ * A new snapshot records results, which may then be written to a file, while a snapshot read from a file is replayed,
+ * i.e. its results replace any resolution, thus a build may regenerate the same BOM with no artifacts resolved.
+ *
+ * The file is a text file, with the results ordered by key, where each dependency graph is written in the
+ * {@link DependencyGraph} format, between a {@code graph <key>} line and a {@code .} line, each channel version is a
+ * {@code channel <key> <version>} line, with an empty version if not found, and the resolved dependencies are
+ * written one per line, between a {@code dependencies <key>} line and a {@code .} line, with fields separated by tabs.
+ */
+class ResolutionSnapshot {
+
+    private static final String GRAPH = "graph";
+    private static final String CHANNEL = "channel";
+    private static final String DEPENDENCIES = "dependencies";
+    private static final String END = ".";
+
+    private final boolean replay;
+    private final Map<String, DependencyGraph> dependencyGraphs = new ConcurrentHashMap<>();
+    private final Map<String, String> channelVersions = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> resolvedDependencies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a snapshot to record results.
+     */
+    ResolutionSnapshot() {
+        this(false);
+    }
+
+    private ResolutionSnapshot(boolean replay) {
+        this.replay = replay;
+    }
+
+    /**
+     *
+     * @return true if the snapshot results should be replayed, false if results should be recorded
+     */
+    boolean isReplay() {
+        return replay;
+    }
+
+    /**
+     *
+     * @param key the key
+     * @return the dependency graph with the specified key, null if not in the snapshot
+     */
+    DependencyGraph getDependencyGraph(String key) {
+        return dependencyGraphs.get(key);
+    }
+
+    /**
+     *
+     * @param key the key
+     * @param dependencyGraph the dependency graph
+     */
+    void putDependencyGraph(String key, DependencyGraph dependencyGraph) {
+        dependencyGraphs.put(key, dependencyGraph);
+    }
+
+    /**
+     *
+     * @param key the key
+     * @return true if the snapshot has the channel version with the specified key, even if it was not found
+     */
+    boolean containsChannelVersion(String key) {
+        return channelVersions.containsKey(key);
+    }
+
+    /**
+     *
+     * @param key the key
+     * @return the channel version with the specified key, null if not found on channels, or not in the snapshot
+     */
+    String getChannelVersion(String key) {
+        final String version = channelVersions.get(key);
+        return version == null || version.isEmpty() ? null : version;
+    }
+
+    /**
+     *
+     * @param key the key
+     * @param version the version, null if not found on channels
+     */
+    void putChannelVersion(String key, String version) {
+        channelVersions.put(key, version != null ? version : "");
+    }
+
+    /**
+     *
+     * @param key the key
+     * @return the resolved dependencies with the specified key, null if not in the snapshot
+     */
+    List<Dependency> getResolvedDependencies(String key) {
+        final List<String> ids = resolvedDependencies.get(key);
+        if (ids == null) {
+            return null;
+        }
+        final List<Dependency> dependencies = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            dependencies.add(DependencyTransitivesResolver.toResolvedDependency(new org.eclipse.aether.graph.Dependency(new DefaultArtifact(id), null)));
+        }
+        return dependencies;
+    }
+
+    /**
+     *
+     * @param key the key
+     * @param dependencies the resolved dependencies
+     */
+    void putResolvedDependencies(String key, List<org.eclipse.aether.graph.Dependency> dependencies) {
+        final List<String> ids = new ArrayList<>(dependencies.size());
+        for (org.eclipse.aether.graph.Dependency dependency : dependencies) {
+            ids.add(ArtifactIdUtils.toId(dependency.getArtifact()));
+        }
+        resolvedDependencies.put(key, Collections.unmodifiableList(ids));
+    }
+
+    /**
+     * Writes the snapshot, in the format read by {@link #read(BufferedReader)}.
+     * @param writer the writer
+     * @throws IOException if the write failed
+     */
+    void write(Writer writer) throws IOException {
+        for (Map.Entry<String, DependencyGraph> dependencyGraph : new TreeMap<>(dependencyGraphs).entrySet()) {
+            writer.write(GRAPH + "\t" + dependencyGraph.getKey() + "\n");
+            dependencyGraph.getValue().write(writer);
+            writer.write(END + "\n");
+        }
+        for (Map.Entry<String, String> channelVersion : new TreeMap<>(channelVersions).entrySet()) {
+            writer.write(CHANNEL + "\t" + channelVersion.getKey() + "\t" + channelVersion.getValue() + "\n");
+        }
+        for (Map.Entry<String, List<String>> dependencies : new TreeMap<>(resolvedDependencies).entrySet()) {
+            writer.write(DEPENDENCIES + "\t" + dependencies.getKey() + "\n");
+            for (String id : dependencies.getValue()) {
+                writer.write(id + "\n");
+            }
+            writer.write(END + "\n");
+        }
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(Writer)}, to be replayed.
+     * @param reader the reader
+     * @return the snapshot read
+     * @throws IOException if the read failed, or the content is not valid
+     */
+    static ResolutionSnapshot read(BufferedReader reader) throws IOException {
+        final ResolutionSnapshot snapshot = new ResolutionSnapshot(true);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            final String[] parts = line.split("\t", 3);
+            if (GRAPH.equals(parts[0]) && parts.length == 2) {
+                final StringBuilder sb = new StringBuilder();
+                for (String graphLine : readSection(reader, line)) {
+                    sb.append(graphLine).append('\n');
+                }
+                snapshot.dependencyGraphs.put(parts[1], DependencyGraph.read(new BufferedReader(new StringReader(sb.toString()))));
+            } else if (CHANNEL.equals(parts[0]) && parts.length == 3) {
+                snapshot.channelVersions.put(parts[1], parts[2]);
+            } else if (DEPENDENCIES.equals(parts[0]) && parts.length == 2) {
+                snapshot.resolvedDependencies.put(parts[1], Collections.unmodifiableList(readSection(reader, line)));
+            } else {
+                throw new IOException("Invalid resolution snapshot entry " + line);
+            }
+        }
+        return snapshot;
+    }
+
+    private static List<String> readSection(BufferedReader reader, String header) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (END.equals(line)) {
+                return lines;
+            }
+            lines.add(line);
+        }
+        throw new IOException("Resolution snapshot entry " + header + " not terminated");
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+/**
+ * The modes of the resolution snapshot.
+ */
+public enum ResolutionSnapshotMode {
+    /**
+     * No resolution snapshot is recorded or replayed.
+     */
+    NONE,
+    /**
+     * The results of the resolutions done by the BOM build are recorded to the snapshot file.
+     */
+    RECORD,
+    /**
+     * The BOM build does not resolve anything, the results are replayed from the snapshot file.
+     */
+    REPLAY
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+/**
+ * The strategies to name the properties which define the versions of the BOM's managed dependencies.
+ */
+public enum VersionPropertyStrategy {
+    /**
+     * A {@code version.<groupId>} property, if all artifacts of the group have the same version, otherwise a
+     * {@code version.<groupId>.<artifactId>} property for each artifact of the group.
+     */
+    GROUP,
+    /**
+     * A {@code version.<groupId>} property, with the version of most artifacts of the group, and a
+     * {@code version.<groupId>.<artifactId>} property for each artifact of the group with another version.
+     */
+    MAJORITY,
+    /**
+     * The property which defines the version of the dependency in the builder's dependency management, e.g.
+     * {@code version.x} if the builder's managed dependency version is {@code ${version.x}}, and if there is no such
+     * property then same as {@link #GROUP}.
+     */
+    BUILDER
+}
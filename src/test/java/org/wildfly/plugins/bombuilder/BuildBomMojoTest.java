@@ -0,0 +1,369 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.handler.manager.DefaultArtifactHandlerManager;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BuildBomMojoTest {
+
+    private static final int LARGE_BUILDER_SIZE = 10000;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCopyHasSameConfiguration() throws Exception {
+        BuildBomMojo mojo = new BuildBomMojo();
+        mojo.setLog(new QuietLog());
+        for (Field field : getConfigurationFields()) {
+            field.set(mojo, createValue(field, field.get(mojo)));
+        }
+        Map<String, DependencyTransitivesResolver> transitivesResolvers = new HashMap<>();
+
+        BuildBomMojo copy = copy(mojo, new BomDefinition(), transitivesResolvers);
+
+        for (Field field : getConfigurationFields()) {
+            assertCopied(field, field.get(mojo), field.get(copy));
+        }
+        assertSame(mojo.getLog(), copy.getLog());
+        assertSame(transitivesResolvers, getField(copy, "transitivesResolvers"));
+    }
+
+    @Test
+    public void testCopyHasBomDefinitionConfiguration() throws Exception {
+        BuildBomMojo mojo = new BuildBomMojo();
+        BomDefinition bom = new BomDefinition();
+        Field[] bomFields = BomDefinition.class.getDeclaredFields();
+        for (Field bomField : bomFields) {
+            bomField.setAccessible(true);
+            bomField.set(bom, createValue(bomField, getField(mojo, bomField.getName())));
+        }
+
+        BuildBomMojo copy = copy(mojo, bom, new HashMap<>());
+
+        for (Field bomField : bomFields) {
+            assertCopied(bomField, bomField.get(bom), getField(copy, bomField.getName()));
+        }
+    }
+
+    @Test
+    public void testChainedVersionRefs() throws Exception {
+        Model builder = createBuilder(Arrays.asList(createDependency("org.foo", "a", "1.0")));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("versionRefDependencies", Arrays.asList(createDependency("org.foo", "b", "org.foo:a:jar"), createDependency("org.foo", "c", "org.foo:b:jar"), createDependency("org.foo", "d", "org.foo:c:jar")));
+
+        Model bom = buildBom(builder, parameters, new CollectingRepositorySystem(request -> createGraph()));
+
+        assertEquals(Arrays.asList("org.foo:a:1.0", "org.foo:b:1.0", "org.foo:c:1.0", "org.foo:d:1.0"), toCoordinates(bom));
+    }
+
+    @Test
+    public void testIncrementalBuildWithChangedSharedDependencyGraph() throws Exception {
+        Model builder = createBuilder(Arrays.asList(createDependency("org.foo", "a", "1.0")));
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("incremental", true);
+        CollectingRepositorySystem repositorySystem = new CollectingRepositorySystem(request -> createGraph());
+        assertNotNull(buildBom(builder, parameters, repositorySystem));
+        assertNull(buildBom(builder, parameters, repositorySystem));
+
+        // the shared dependency graph may change the BOM, thus it is regenerated
+        parameters.put("sharedDependencyGraph", true);
+        assertNotNull(buildBom(builder, parameters, repositorySystem));
+        assertNull(buildBom(builder, parameters, repositorySystem));
+    }
+
+    @Test
+    public void testLargeBuilder() throws Exception {
+        List<Dependency> managedDependencies = new ArrayList<>();
+        List<IncludeDependency> includeDependencies = new ArrayList<>();
+        for (int i = 0; i < LARGE_BUILDER_SIZE; i++) {
+            Dependency dependency = createDependency("org.foo", "dependency-" + i, "1.0");
+            if (i % 10 == 0) {
+                Exclusion exclusion = new Exclusion();
+                exclusion.setGroupId("*");
+                exclusion.setArtifactId("*");
+                dependency.addExclusion(exclusion);
+            }
+            managedDependencies.add(dependency);
+            if (i % 2 == 1) {
+                IncludeDependency includeDependency = new IncludeDependency();
+                includeDependency.setGroupId("org.foo");
+                includeDependency.setArtifactId("dependency-" + i);
+                includeDependencies.add(includeDependency);
+            }
+        }
+        managedDependencies.add(createDependency("org.foo", "transitives", "1.0"));
+        IncludeDependency includeDependencyTransitives = new IncludeDependency();
+        includeDependencyTransitives.setGroupId("org.foo");
+        includeDependencyTransitives.setArtifactId("transitives");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("includeDependencies", includeDependencies);
+        parameters.put("includeDependenciesTransitives", Arrays.asList(includeDependencyTransitives));
+        parameters.put("inheritExclusions", InheritExclusions.UNMANAGED);
+        // each dependency depends on the next one, and the transitives dependency on the even ones, the graph of the BOM's dependencies is flat, as if conflict resolved
+        CollectingRepositorySystem repositorySystem = new CollectingRepositorySystem(request -> {
+            DependencyNode root = createGraph();
+            for (org.eclipse.aether.graph.Dependency dependency : request.getDependencies()) {
+                DependencyNode node = createNode(dependency.getArtifact().getArtifactId());
+                if (request.getDependencies().size() == 1 && (dependency.getExclusions().isEmpty() || !"*".equals(dependency.getExclusions().iterator().next().getGroupId()))) {
+                    if (dependency.getArtifact().getArtifactId().equals("transitives")) {
+                        for (int i = 0; i < LARGE_BUILDER_SIZE; i += 2) {
+                            node.getChildren().add(createNode("dependency-" + i));
+                        }
+                    } else {
+                        int index = Integer.parseInt(dependency.getArtifact().getArtifactId().substring("dependency-".length()));
+                        node.getChildren().add(createNode("dependency-" + ((index + 1) % LARGE_BUILDER_SIZE)));
+                    }
+                }
+                root.getChildren().add(node);
+            }
+            return root;
+        });
+
+        Model bom = buildBom(createBuilder(managedDependencies), parameters, repositorySystem);
+
+        // the explicitly included dependencies, in the builder's order, then the included transitives, each only once
+        List<String> expectedCoordinates = new ArrayList<>();
+        for (int i = 1; i < LARGE_BUILDER_SIZE; i += 2) {
+            expectedCoordinates.add("org.foo:dependency-" + i + ":1.0");
+        }
+        for (int i = 0; i < LARGE_BUILDER_SIZE; i += 2) {
+            expectedCoordinates.add("org.foo:dependency-" + i + ":1.0");
+        }
+        assertEquals(expectedCoordinates, toCoordinates(bom));
+        // a graph per wildcard exclusions expanded, plus the transitives dependency's graph, and the included dependencies' graph
+        assertEquals(LARGE_BUILDER_SIZE / 10 + 2, repositorySystem.getCollections());
+    }
+
+    /**
+     *
+     * @return the mojo's fields, excluding the state of each BOM generation, which a copy does not share
+     */
+    private static List<Field> getConfigurationFields() {
+        List<String> executionStateFields = Arrays.asList("excludeDependenciesMatcher", "includeDependenciesMatcher", "includeDependenciesTransitivesMatcher", "importDependenciesMatcher", "scopeOverridesMatcher", "versionPropertiesMatcher", "ignoredExclusionsIndex", "executionMetrics", "transitivesResolvers");
+        List<Field> fields = new ArrayList<>();
+        for (Field field : BuildBomMojo.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || executionStateFields.contains(field.getName())) {
+                continue;
+            }
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     *
+     * @param field the field
+     * @param value the field's current value
+     * @return a value for the field, which is not equal to the current one
+     */
+    private static Object createValue(Field field, Object value) throws ReflectiveOperationException {
+        Class<?> type = field.getType();
+        if (type == boolean.class || type == Boolean.class) {
+            return !Boolean.TRUE.equals(value);
+        }
+        if (type == int.class) {
+            return (Integer) value + 1;
+        }
+        if (type == String.class) {
+            return field.getName();
+        }
+        if (type == File.class) {
+            return new File(field.getName());
+        }
+        if (type.isEnum()) {
+            Object[] constants = type.getEnumConstants();
+            return constants[0] != value ? constants[0] : constants[1];
+        }
+        if (type.isInterface()) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return field.getName();
+                    default:
+                        throw new UnsupportedOperationException();
+                }
+            });
+        }
+        // instantiate with the constructor with less parameters, all with default values
+        Constructor<?> constructor = null;
+        for (Constructor<?> declaredConstructor : type.getDeclaredConstructors()) {
+            if (constructor == null || declaredConstructor.getParameterCount() < constructor.getParameterCount()) {
+                constructor = declaredConstructor;
+            }
+        }
+        Object[] args = new Object[constructor.getParameterCount()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = Array.get(Array.newInstance(constructor.getParameterTypes()[i], 1), 0);
+        }
+        constructor.setAccessible(true);
+        return constructor.newInstance(args);
+    }
+
+    private static void assertCopied(Field field, Object expected, Object actual) {
+        if (field.getType().isPrimitive() || field.getType() == Boolean.class) {
+            assertEquals(field.getName() + " not copied", expected, actual);
+        } else {
+            assertSame(field.getName() + " not copied", expected, actual);
+        }
+    }
+
+    private static BuildBomMojo copy(BuildBomMojo mojo, BomDefinition bom, Map<String, DependencyTransitivesResolver> transitivesResolvers) throws ReflectiveOperationException {
+        Constructor<BuildBomMojo> constructor = BuildBomMojo.class.getDeclaredConstructor(BuildBomMojo.class, BomDefinition.class, Map.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(mojo, bom, transitivesResolvers);
+    }
+
+    /**
+     *
+     * @return the BOM written, null if its generation was skipped
+     */
+    private Model buildBom(Model builder, Map<String, Object> parameters, CollectingRepositorySystem repositorySystem) throws Exception {
+        final List<Model> boms = new ArrayList<>();
+        final BuildBomMojo mojo = new BuildBomMojo(new BuildBomMojo.ModelWriter() {
+            @Override
+            boolean writeModel(Model pomModel, File outputFile) throws MojoExecutionException {
+                boms.add(pomModel);
+                return super.writeModel(pomModel, outputFile);
+            }
+        }, new PomDependencyVersionsTransformer());
+        mojo.setLog(new QuietLog());
+        setField(mojo, "bomGroupId", "org.bom");
+        setField(mojo, "bomArtifactId", "bom");
+        setField(mojo, "bomVersion", "1.0");
+        setField(mojo, "outputFilename", "bom-pom.xml");
+        setField(mojo, "inheritExclusions", InheritExclusions.NONE);
+        setField(mojo, "dependencySource", DependencySource.DEPENDENCY_MANAGEMENT);
+        setField(mojo, "mavenProject", new MavenProject(builder));
+        setField(mojo, "artifactHandlerManager", new DefaultArtifactHandlerManager() {
+            @Override
+            public ArtifactHandler getArtifactHandler(String type) {
+                return new DefaultArtifactHandler(type);
+            }
+        });
+        setField(mojo, "repositorySystemSession", MavenRepositorySystemUtils.newSession());
+        setField(mojo, "repositories", Collections.emptyList());
+        setField(mojo, "repositorySystem", repositorySystem);
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            setField(mojo, parameter.getKey(), parameter.getValue());
+        }
+        mojo.execute();
+        assertTrue(boms.size() <= 1);
+        return boms.isEmpty() ? null : boms.get(0);
+    }
+
+    private Model createBuilder(List<Dependency> managedDependencies) throws Exception {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("org.builder");
+        model.setArtifactId("builder");
+        model.setVersion("1.0");
+        model.setPackaging("pom");
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.setDependencies(new ArrayList<>(managedDependencies));
+        model.setDependencyManagement(dependencyManagement);
+        Build build = new Build();
+        build.setDirectory(temporaryFolder.newFolder().getAbsolutePath());
+        model.setBuild(build);
+        return model;
+    }
+
+    private static Dependency createDependency(String groupId, String artifactId, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    private static DependencyNode createGraph() {
+        DefaultDependencyNode root = new DefaultDependencyNode((org.eclipse.aether.graph.Dependency) null);
+        root.setChildren(new ArrayList<>());
+        return root;
+    }
+
+    private static DependencyNode createNode(String artifactId) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(new DefaultArtifact("org.foo", artifactId, "jar", "1.0"), "compile"));
+        node.setChildren(new ArrayList<>());
+        return node;
+    }
+
+    private static List<String> toCoordinates(Model bom) {
+        List<String> coordinates = new ArrayList<>();
+        for (Dependency dependency : bom.getDependencyManagement().getDependencies()) {
+            String version = dependency.getVersion();
+            if (version.startsWith("${")) {
+                version = bom.getProperties().getProperty(version.substring(2, version.length() - 1));
+            }
+            coordinates.add(dependency.getGroupId() + ":" + dependency.getArtifactId() + ":" + version);
+        }
+        return coordinates;
+    }
+
+    private static Object getField(BuildBomMojo mojo, String name) throws ReflectiveOperationException {
+        final Field field = BuildBomMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(mojo);
+    }
+
+    private static void setField(BuildBomMojo mojo, String name, Object value) throws ReflectiveOperationException {
+        final Field field = BuildBomMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Model;
+import org.junit.Test;
+
+public class BuildFingerprintTest {
+
+    @Test
+    public void testSameInputs() throws Exception {
+        assertEquals(fingerprint(createModel("1.0"), createIncludeDependency(true)), fingerprint(createModel("1.0"), createIncludeDependency(true)));
+    }
+
+    @Test
+    public void testChangedInputs() throws Exception {
+        final String fingerprint = fingerprint(createModel("1.0"), createIncludeDependency(true));
+        assertNotEquals(fingerprint, fingerprint(createModel("1.1"), createIncludeDependency(true)));
+        assertNotEquals(fingerprint, fingerprint(createModel("1.0"), createIncludeDependency(false)));
+    }
+
+    @Test
+    public void testValuesAreDelimited() throws Exception {
+        assertNotEquals(new BuildFingerprint().add("a", "b").add("c", (Object) null).toHexString(), new BuildFingerprint().add("a", (Object) null).add("c", "b").toHexString());
+        assertNotEquals(new BuildFingerprint().add("a", Arrays.asList("b", "c")).add("d", Collections.emptyList()).toHexString(), new BuildFingerprint().add("a", Collections.singletonList("b")).add("d", Collections.singletonList("c")).toHexString());
+    }
+
+    private String fingerprint(Model model, IncludeDependency includeDependency) throws Exception {
+        return new BuildFingerprint().add("model", model).add("includeDependencies", Collections.singletonList(includeDependency)).toHexString();
+    }
+
+    private Model createModel(String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("org.foo");
+        dependency.setArtifactId("foo");
+        dependency.setVersion(version);
+        Model model = new Model();
+        model.setDependencyManagement(new DependencyManagement());
+        model.getDependencyManagement().addDependency(dependency);
+        return model;
+    }
+
+    private IncludeDependency createIncludeDependency(boolean transitive) {
+        IncludeDependency includeDependency = new IncludeDependency();
+        includeDependency.setGroupId("org.foo");
+        includeDependency.setArtifactId("foo");
+        includeDependency.setTransitive(transitive);
+        return includeDependency;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Profile;
+import org.apache.maven.model.Repository;
+import org.apache.maven.project.MavenProject;
+import org.junit.Test;
+
+public class BuilderHierarchyTest {
+
+    @Test
+    public void testNearestElementsAreIndexed() {
+        MavenProject grandParent = createProject("grandParent", "1.0");
+        addProfile(grandParent, "profile1");
+        addProfile(grandParent, "profile2");
+        addRepository(grandParent, "repository1");
+        MavenProject parent = createProject("parent", "2.0");
+        parent.setParent(grandParent);
+        Profile parentProfile2 = addProfile(parent, "profile2");
+        Repository parentRepository1 = addRepository(parent, "repository1");
+        MavenProject project = createProject("project", "3.0");
+        project.setParent(parent);
+
+        BuilderHierarchy builderHierarchy = new BuilderHierarchy(project);
+
+        assertEquals(3, builderHierarchy.getProjects().size());
+        assertEquals("1.0", builderHierarchy.getVersion("groupId", "grandParent"));
+        assertEquals("2.0", builderHierarchy.getVersion("groupId", "parent"));
+        assertNull(builderHierarchy.getVersion("groupId", "unknown"));
+        assertEquals(2, builderHierarchy.getProfiles().size());
+        // ordered by the nearest model, i.e. the parent's profile2 comes first
+        assertSame(parentProfile2, builderHierarchy.getProfiles().values().iterator().next());
+        assertEquals(1, builderHierarchy.getRepositories().size());
+        assertSame(parentRepository1, builderHierarchy.getRepositories().get("repository1"));
+        assertEquals(0, builderHierarchy.getPluginRepositories().size());
+        assertEquals(0, builderHierarchy.getManagedPlugins().size());
+    }
+
+    private MavenProject createProject(String artifactId, String version) {
+        Model model = new Model();
+        model.setGroupId("groupId");
+        model.setArtifactId(artifactId);
+        model.setVersion(version);
+        model.setProfiles(new ArrayList<>());
+        model.setRepositories(new ArrayList<>());
+        return new MavenProject(model);
+    }
+
+    private Profile addProfile(MavenProject project, String id) {
+        Profile profile = new Profile();
+        profile.setId(id);
+        project.getModel().addProfile(profile);
+        return profile;
+    }
+
+    private Repository addRepository(MavenProject project, String id) {
+        Repository repository = new Repository();
+        repository.setId(id);
+        project.getModel().addRepository(repository);
+        return repository;
+    }
+}
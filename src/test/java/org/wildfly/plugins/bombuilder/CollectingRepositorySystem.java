@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SyncContext;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.DependencyCollector;
+import org.eclipse.aether.installation.InstallRequest;
+import org.eclipse.aether.installation.InstallResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResult;
+import org.eclipse.aether.resolution.MetadataRequest;
+import org.eclipse.aether.resolution.MetadataResult;
+import org.eclipse.aether.resolution.VersionRangeRequest;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.resolution.VersionRequest;
+import org.eclipse.aether.resolution.VersionResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A repository system which, instead of reading POMs, collects the dependency graphs created by a function, or by a
+ * collector. Any other operation is unsupported.
+ */
+class CollectingRepositorySystem implements RepositorySystem {
+
+    private final DependencyCollector collector;
+    private final AtomicInteger collections = new AtomicInteger();
+
+    /**
+     *
+     * @param graphs the function which creates the root of the graph collected for a request
+     */
+    CollectingRepositorySystem(Function<CollectRequest, DependencyNode> graphs) {
+        this((session, request) -> new CollectResult(request).setRoot(graphs.apply(request)));
+    }
+
+    /**
+     *
+     * @param collector the collector of the graphs, e.g. the resolver's with stubbed descriptors
+     */
+    CollectingRepositorySystem(DependencyCollector collector) {
+        this.collector = collector;
+    }
+
+    /**
+     *
+     * @return the number of dependency graphs collected
+     */
+    int getCollections() {
+        return collections.get();
+    }
+
+    @Override
+    public CollectResult collectDependencies(RepositorySystemSession session, CollectRequest request) throws DependencyCollectionException {
+        collections.incrementAndGet();
+        return collector.collectDependencies(session, request);
+    }
+
+    @Override
+    public DependencyResult resolveDependencies(RepositorySystemSession session, DependencyRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public VersionRangeResult resolveVersionRange(RepositorySystemSession session, VersionRangeRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public VersionResult resolveVersion(RepositorySystemSession session, VersionRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ArtifactDescriptorResult readArtifactDescriptor(RepositorySystemSession session, ArtifactDescriptorRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ArtifactResult resolveArtifact(RepositorySystemSession session, ArtifactRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<ArtifactResult> resolveArtifacts(RepositorySystemSession session, Collection<? extends ArtifactRequest> requests) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<MetadataResult> resolveMetadata(RepositorySystemSession session, Collection<? extends MetadataRequest> requests) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InstallResult install(RepositorySystemSession session, InstallRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public DeployResult deploy(RepositorySystemSession session, DeployRequest request) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public LocalRepositoryManager newLocalRepositoryManager(RepositorySystemSession session, LocalRepository localRepository) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public SyncContext newSyncContext(RepositorySystemSession session, boolean shared) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<RemoteRepository> newResolutionRepositories(RepositorySystemSession session, List<RemoteRepository> repositories) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public RemoteRepository newDeploymentRepository(RepositorySystemSession session, RemoteRepository repository) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addOnSystemEndedHandler(Runnable handler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void shutdown() {
+    }
+}
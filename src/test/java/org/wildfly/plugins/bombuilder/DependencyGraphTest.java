@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.junit.Test;
+
+public class DependencyGraphTest {
+
+    @Test
+    public void testDependenciesAreVisitedOnceInPreorder() throws Exception {
+        DefaultDependencyNode shared = createNode("shared");
+        shared.setChildren(Arrays.asList(createNode("shared-child")));
+        DefaultDependencyNode dependency1 = createNode("dependency1");
+        dependency1.setChildren(Arrays.asList(createNode("transitive1"), shared));
+        DefaultDependencyNode dependency2 = createNode("dependency2");
+        dependency2.setChildren(Arrays.asList(shared, createNode("transitive2")));
+        DependencyGraph graph = new DependencyGraph(createRoot(dependency1, dependency2));
+
+        assertEquals(Arrays.asList("dependency1", "transitive1", "shared", "shared-child", "dependency2", "transitive2"), toArtifactIds(graph.getDependencies(null)));
+        assertEquals(Arrays.asList("dependency2", "shared", "shared-child", "transitive2"), toArtifactIds(graph.getDependencies(dependency2.getArtifact(), null)));
+    }
+
+    @Test
+    public void testFilterParentsIncludeRoot() throws Exception {
+        DefaultDependencyNode transitive = createNode("transitive");
+        transitive.setChildren(Arrays.asList(createNode("transitive-child")));
+        DefaultDependencyNode dependency = createNode("dependency");
+        dependency.setChildren(Arrays.asList(transitive));
+        DependencyGraph graph = new DependencyGraph(createRoot(dependency));
+
+        // same filter used to lookup 1st level transitives
+        assertEquals(Arrays.asList("transitive"), toArtifactIds(graph.getDependencies((node, parents) -> parents.size() == 2)));
+        assertEquals(Arrays.asList("transitive"), toArtifactIds(graph.getDependencies(dependency.getArtifact(), (node, parents) -> parents.size() == 2)));
+    }
+
+    @Test
+    public void testContains() throws Exception {
+        DefaultDependencyNode dependency = createNode("dependency");
+        DependencyGraph graph = new DependencyGraph(createRoot(dependency));
+
+        assertTrue(graph.contains(new DefaultArtifact("groupId:dependency:jar:other-version")));
+        assertFalse(graph.contains(new DefaultArtifact("groupId:dependency:pom:1.0")));
+        assertTrue(graph.getDependencies(new DefaultArtifact("groupId:other:jar:1.0"), null).isEmpty());
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        DefaultDependencyNode shared = createNode("shared");
+        shared.setChildren(Arrays.asList(createNode("shared-child")));
+        DefaultDependencyNode optional = new DefaultDependencyNode(new Dependency(new DefaultArtifact("groupId:optional:test-jar:tests:1.0"), "test", true));
+        DefaultDependencyNode dependency1 = createNode("dependency1");
+        dependency1.setChildren(Arrays.asList(createNode("transitive1"), shared, optional));
+        DefaultDependencyNode dependency2 = createNode("dependency2");
+        dependency2.setChildren(Arrays.asList(shared, createNode("transitive2")));
+        DependencyGraph graph = new DependencyGraph(createRoot(dependency1, dependency2));
+
+        StringWriter writer = new StringWriter();
+        graph.write(writer);
+        DependencyGraph graphRead = DependencyGraph.read(new BufferedReader(new StringReader(writer.toString())));
+
+        for (DependencyNode dependency : Arrays.asList(dependency1, dependency2)) {
+            assertEquals(graph.getDependencies(dependency.getArtifact(), null), graphRead.getDependencies(dependency.getArtifact(), null));
+            assertEquals(graph.getDependencies(dependency.getArtifact(), (node, parents) -> parents.size() == 2), graphRead.getDependencies(dependency.getArtifact(), (node, parents) -> parents.size() == 2));
+        }
+        StringWriter writerOfGraphRead = new StringWriter();
+        graphRead.write(writerOfGraphRead);
+        assertEquals(writer.toString(), writerOfGraphRead.toString());
+    }
+
+    @Test
+    public void testWriteAndReadSharedChildren() throws Exception {
+        // the collector may share a children list between nodes of different root's dependencies
+        List<DependencyNode> sharedChildren = new ArrayList<>(Arrays.asList(createNode("x"), createNode("y")));
+        DefaultDependencyNode dependency1 = createNode("dependency1");
+        dependency1.setChildren(sharedChildren);
+        DefaultDependencyNode dependency2 = createNode("dependency2");
+        dependency2.setChildren(sharedChildren);
+        DependencyGraph graph = new DependencyGraph(createRoot(dependency1, dependency2));
+
+        StringWriter writer = new StringWriter();
+        graph.write(writer);
+        DependencyGraph graphRead = DependencyGraph.read(new BufferedReader(new StringReader(writer.toString())));
+
+        assertEquals(Arrays.asList("dependency1", "x", "y"), toArtifactIds(graphRead.getDependencies(dependency1.getArtifact(), null)));
+        assertEquals(Arrays.asList("dependency2", "x", "y"), toArtifactIds(graphRead.getDependencies(dependency2.getArtifact(), null)));
+        assertEquals(Arrays.asList("x", "y"), toArtifactIds(graphRead.getDependencies(dependency2.getArtifact(), (node, parents) -> parents.size() == 2)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadInvalid() throws Exception {
+        DependencyGraph.read(new BufferedReader(new StringReader("groupId:root:pom:1.0\n2\tcompile\t\tgroupId:dependency:jar:1.0\n")));
+    }
+
+    private DependencyNode createRoot(DependencyNode... children) {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:pom:1.0"));
+        root.setChildren(new ArrayList<>(Arrays.asList(children)));
+        return root;
+    }
+
+    private DefaultDependencyNode createNode(String artifactId) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact("groupId", artifactId, "jar", "1.0"), "compile"));
+        node.setChildren(new ArrayList<>());
+        return node;
+    }
+
+    private List<String> toArtifactIds(List<Dependency> dependencies) {
+        List<String> artifactIds = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            artifactIds.add(dependency.getArtifact().getArtifactId());
+        }
+        return artifactIds;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+
+import org.apache.maven.model.Dependency;
+import org.junit.Test;
+
+public class DependencyMatcherTest {
+
+    @Test
+    public void testFirstMatchWins() throws Exception {
+        Dependency wildcard = createDependency("*", "*", "*", "*", null);
+        Dependency groupIdWildcard = createDependency("org.foo", "*", "jar", null, null);
+        Dependency exact = createDependency("org.foo", "foo", "jar", null, null);
+        Dependency artifactIdWildcard = createDependency("*", "foo", "*", "*", null);
+
+        DependencyMatcher<Dependency> matcher = new DependencyMatcher<>(Arrays.asList(groupIdWildcard, exact, artifactIdWildcard, wildcard));
+        assertSame(groupIdWildcard, matcher.match(createDependency("org.foo", "foo", null, null, null)));
+        assertSame(artifactIdWildcard, matcher.match(createDependency("org.foo", "foo", "pom", null, null)));
+        assertSame(wildcard, matcher.match(createDependency("org.bar", "bar", "jar", null, null)));
+
+        matcher = new DependencyMatcher<>(Arrays.asList(artifactIdWildcard, exact, groupIdWildcard, wildcard));
+        assertSame(artifactIdWildcard, matcher.match(createDependency("org.foo", "foo", "jar", null, null)));
+        assertSame(groupIdWildcard, matcher.match(createDependency("org.foo", "bar", "jar", null, null)));
+    }
+
+    @Test
+    public void testClassifierAndScope() throws Exception {
+        Dependency classifier = createDependency("org.foo", "foo", "jar", "tests", null);
+        Dependency testScope = createDependency("org.foo", "foo", "jar", null, "test");
+        DependencyMatcher<Dependency> matcher = new DependencyMatcher<>(Arrays.asList(classifier, testScope));
+
+        assertSame(classifier, matcher.match(createDependency("org.foo", "foo", "jar", "tests", "test")));
+        assertSame(testScope, matcher.match(createDependency("org.foo", "foo", "jar", null, "test")));
+        assertNull(matcher.match(createDependency("org.foo", "foo", "jar", null, null)));
+        assertNull(matcher.match(createDependency("org.foo", "foo", "jar", "sources", "test")));
+    }
+
+    @Test
+    public void testNoRules() throws Exception {
+        assertNull(new DependencyMatcher<>(null).match(createDependency("org.foo", "foo", "jar", null, null)));
+    }
+
+    private Dependency createDependency(String groupId, String artifactId, String type, String classifier, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        if (type != null) {
+            dependency.setType(type);
+        }
+        dependency.setClassifier(classifier);
+        dependency.setScope(scope);
+        return dependency;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.impl.ArtifactDescriptorReader;
+import org.eclipse.aether.impl.RemoteRepositoryManager;
+import org.eclipse.aether.impl.VersionRangeResolver;
+import org.eclipse.aether.internal.impl.collect.df.DfDependencyCollector;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.repository.RepositoryPolicy;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.resolution.VersionRangeResult;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.junit.Test;
+
+public class DependencyTransitivesResolverTest {
+
+    @Test
+    public void testRecordAndReplaySharedDependencyGraph() throws Exception {
+        List<Dependency> dependencyManagement = Arrays.asList(createDependency("dependency1"), createDependency("dependency2"), createDependency("dependency3"));
+        // the collector may share a children list between nodes of different managed dependencies
+        List<DependencyNode> sharedChildren = new ArrayList<>(Arrays.asList(createNode("x"), createNode("y")));
+        sharedChildren.get(0).getChildren().add(createNode("z"));
+        CollectingRepositorySystem repositorySystem = new CollectingRepositorySystem(request -> {
+            DefaultDependencyNode root = new DefaultDependencyNode(request.getRootArtifact());
+            root.setChildren(new ArrayList<>());
+            for (org.eclipse.aether.graph.Dependency dependency : request.getDependencies()) {
+                DependencyNode node = createNode(dependency.getArtifact().getArtifactId());
+                if (!dependency.getArtifact().getArtifactId().equals("dependency3")) {
+                    node.setChildren(sharedChildren);
+                }
+                root.getChildren().add(node);
+            }
+            return root;
+        });
+        ResolutionSnapshot snapshot = new ResolutionSnapshot();
+        DependencyTransitivesResolver recordingResolver = createResolver(repositorySystem, dependencyManagement, snapshot);
+        recordingResolver.collectSharedDependencyGraph(new ExecutionMetrics());
+        List<List<String>> recordedTransitives = getTransitives(recordingResolver, dependencyManagement);
+        List<List<String>> recordedFirstLevelTransitives = getFirstLevelTransitives(recordingResolver, dependencyManagement);
+        assertEquals(1, repositorySystem.getCollections());
+        assertEquals(Arrays.asList("dependency2", "x", "z", "y"), recordedTransitives.get(1));
+
+        StringWriter writer = new StringWriter();
+        snapshot.write(writer);
+        // nothing is collected when replaying
+        CollectingRepositorySystem replayRepositorySystem = new CollectingRepositorySystem(request -> {
+            throw new AssertionError("Unexpected collection of " + request);
+        });
+        DependencyTransitivesResolver replayingResolver = createResolver(replayRepositorySystem, dependencyManagement, ResolutionSnapshot.read(new BufferedReader(new StringReader(writer.toString()))));
+        replayingResolver.collectSharedDependencyGraph(new ExecutionMetrics());
+
+        assertEquals(recordedTransitives, getTransitives(replayingResolver, dependencyManagement));
+        assertEquals(recordedFirstLevelTransitives, getFirstLevelTransitives(replayingResolver, dependencyManagement));
+    }
+
+    @Test
+    public void testFirstLevelTransitivesRelocated() throws Exception {
+        // the dependency's direct dependency is relocated, and the relocation has a dependency of its own
+        Map<String, ArtifactDescriptorResult> descriptors = new HashMap<>();
+        List<String> descriptorReads = new ArrayList<>();
+        ArtifactDescriptorReader descriptorReader = (session, request) -> {
+            descriptorReads.add(request.getArtifact().toString());
+            ArtifactDescriptorResult descriptor = descriptors.get(request.getArtifact().toString());
+            return new ArtifactDescriptorResult(request).setArtifact(descriptor.getArtifact()).setRelocations(descriptor.getRelocations()).setDependencies(descriptor.getDependencies());
+        };
+        descriptors.put("groupId:dependency1:jar:1.0", createDescriptor("groupId:dependency1:jar:1.0", "org.old:b:jar:1.0"));
+        descriptors.put("org.old:b:jar:1.0", createDescriptor("org.new:b:jar:1.0").addRelocation(new DefaultArtifact("org.old:b:jar:1.0")));
+        descriptors.put("org.new:b:jar:1.0", createDescriptor("org.new:b:jar:1.0", "org.foo:c:jar:1.0"));
+        VersionRangeResolver versionRangeResolver = (session, request) -> {
+            GenericVersionScheme versionScheme = new GenericVersionScheme();
+            String version = request.getArtifact().getVersion();
+            VersionRangeResult result = new VersionRangeResult(request);
+            try {
+                return result.setVersionConstraint(versionScheme.parseVersionConstraint(version)).addVersion(versionScheme.parseVersion(version));
+            } catch (InvalidVersionSpecificationException e) {
+                throw new VersionRangeResolutionException(result, e.getMessage(), e);
+            }
+        };
+        RemoteRepositoryManager remoteRepositoryManager = new RemoteRepositoryManager() {
+            @Override
+            public List<RemoteRepository> aggregateRepositories(RepositorySystemSession session, List<RemoteRepository> dominantRepositories, List<RemoteRepository> recessiveRepositories, boolean recessiveIsRaw) {
+                return dominantRepositories;
+            }
+
+            @Override
+            public RepositoryPolicy getPolicy(RepositorySystemSession session, RemoteRepository repository, boolean releases, boolean snapshots) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        CollectingRepositorySystem repositorySystem = new CollectingRepositorySystem(new DfDependencyCollector(remoteRepositoryManager, descriptorReader, versionRangeResolver));
+        Dependency dependency = createDependency("dependency1");
+        DependencyTransitivesResolver resolver = createResolver(repositorySystem, Collections.singletonList(dependency), new ResolutionSnapshot());
+
+        List<String> transitives = new ArrayList<>();
+        for (Dependency transitive : resolver.getFirstLevelTransitives(dependency, new ExecutionMetrics())) {
+            transitives.add(transitive.getManagementKey());
+        }
+        assertEquals(Collections.singletonList("org.new:b:jar"), transitives);
+        // the 1st level transitive's descriptor is read, thus relocated, but its own dependencies are not collected
+        assertEquals(Arrays.asList("groupId:dependency1:jar:1.0", "org.old:b:jar:1.0", "org.new:b:jar:1.0"), descriptorReads);
+    }
+
+    private ArtifactDescriptorResult createDescriptor(String artifact, String... dependencies) {
+        ArtifactDescriptorResult descriptor = new ArtifactDescriptorResult(new ArtifactDescriptorRequest()).setArtifact(new DefaultArtifact(artifact));
+        for (String dependency : dependencies) {
+            descriptor.addDependency(new org.eclipse.aether.graph.Dependency(new DefaultArtifact(dependency), "compile"));
+        }
+        return descriptor;
+    }
+
+    private DependencyTransitivesResolver createResolver(CollectingRepositorySystem repositorySystem, List<Dependency> dependencyManagement, ResolutionSnapshot snapshot) {
+        Model model = new Model();
+        model.setGroupId("groupId");
+        model.setArtifactId("builder");
+        model.setVersion("1.0");
+        return new DependencyTransitivesResolver(new MavenProject(model), repositorySystem, MavenRepositorySystemUtils.newSession(), Collections.emptyList(), Collections.emptyList(), dependencyManagement, null, snapshot, new QuietLog());
+    }
+
+    private List<List<String>> getTransitives(DependencyTransitivesResolver resolver, List<Dependency> dependencies) throws Exception {
+        List<List<String>> transitives = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            transitives.add(toArtifactIds(resolver.getTransitives(dependency, null, new ExecutionMetrics())));
+        }
+        return transitives;
+    }
+
+    private List<List<String>> getFirstLevelTransitives(DependencyTransitivesResolver resolver, List<Dependency> dependencies) throws Exception {
+        List<List<String>> transitives = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            transitives.add(toArtifactIds(resolver.getFirstLevelTransitives(dependency, new ExecutionMetrics())));
+        }
+        return transitives;
+    }
+
+    private Dependency createDependency(String artifactId) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("groupId");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        return dependency;
+    }
+
+    private DependencyNode createNode(String artifactId) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(new DefaultArtifact("groupId", artifactId, "jar", "1.0"), "compile"));
+        node.setChildren(new ArrayList<>());
+        return node;
+    }
+
+    private List<String> toArtifactIds(List<Dependency> dependencies) {
+        List<String> artifactIds = new ArrayList<>();
+        for (Dependency dependency : dependencies) {
+            artifactIds.add(dependency.getArtifactId());
+        }
+        return artifactIds;
+    }
+}
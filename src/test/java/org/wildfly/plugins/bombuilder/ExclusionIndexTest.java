@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.maven.model.Exclusion;
+import org.junit.Test;
+
+public class ExclusionIndexTest {
+
+    @Test
+    public void testMatches() throws Exception {
+        ExclusionIndex index = ExclusionIndex.of(Arrays.asList(createExclusion("org.foo", "a"), createExclusion("org.bar", "*"), createExclusion("*", "b")), true);
+        index.add("org.managed:c");
+
+        assertTrue(index.matches(createExclusion("org.foo", "a")));
+        assertFalse(index.matches(createExclusion("org.foo", "c")));
+        assertTrue(index.matches(createExclusion("org.bar", "c")));
+        assertTrue(index.matches(createExclusion("org.baz", "b")));
+        assertTrue(index.matches(createExclusion("org.managed", "c")));
+        assertFalse(index.matches(createExclusion("org.managed", "d")));
+        // literal wildcards still match
+        assertTrue(index.matches(createExclusion("org.bar", "*")));
+        assertFalse(index.matches(createExclusion("*", "*")));
+    }
+
+    @Test
+    public void testMatchesWithoutWildcards() throws Exception {
+        ExclusionIndex index = ExclusionIndex.of(Arrays.asList(createExclusion("org.foo", "a"), createExclusion("org.bar", "*"), createExclusion("*", "b"), createExclusion("*", "*")), false);
+
+        assertTrue(index.matches(createExclusion("org.foo", "a")));
+        assertFalse(index.matches(createExclusion("org.bar", "c")));
+        assertFalse(index.matches(createExclusion("org.baz", "b")));
+        // only literal wildcards match
+        assertTrue(index.matches(createExclusion("org.bar", "*")));
+        assertTrue(index.matches(createExclusion("*", "b")));
+        assertTrue(index.matches(createExclusion("*", "*")));
+        // copies keep wildcards disabled
+        assertFalse(new ExclusionIndex(index).matches(createExclusion("org.baz", "c")));
+    }
+
+    @Test
+    public void testWildcardMatchesAll() throws Exception {
+        ExclusionIndex index = ExclusionIndex.of(Arrays.asList(createExclusion(" * ", "*")), true);
+        assertTrue(index.matches(createExclusion("org.foo", "a")));
+        // copies are not affected by further additions to the index
+        ExclusionIndex empty = ExclusionIndex.of(null, true);
+        ExclusionIndex copy = new ExclusionIndex(empty);
+        empty.add(createExclusion("org.foo", "a"));
+        assertFalse(copy.matches(createExclusion("org.foo", "a")));
+    }
+
+    private Exclusion createExclusion(String groupId, String artifactId) {
+        Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId(groupId);
+        exclusion.setArtifactId(artifactId);
+        return exclusion;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.Test;
+
+public class ExecutionMetricsTest {
+
+    @Test
+    public void testPhasesAndCounters() throws Exception {
+        ExecutionMetrics metrics = new ExecutionMetrics();
+        assertNull(metrics.startPhase(ExecutionMetrics.PHASE_INITIALIZE_MODEL));
+        assertEquals(ExecutionMetrics.PHASE_INITIALIZE_MODEL, metrics.startPhase(ExecutionMetrics.PHASE_MANAGED_DEPENDENCIES));
+        final String phase = metrics.startPhase(ExecutionMetrics.PHASE_CHANNEL_RESOLUTION);
+        Thread.sleep(5);
+        metrics.startPhase(phase);
+        metrics.startPhase(ExecutionMetrics.PHASE_CHANNEL_RESOLUTION);
+        Thread.sleep(5);
+        metrics.increment(ExecutionMetrics.COUNTER_RESOLVER_CALLS);
+        metrics.add(ExecutionMetrics.COUNTER_RESOLVER_CALLS, 2);
+        metrics.end();
+
+        assertTrue(metrics.getPhaseMillis(ExecutionMetrics.PHASE_CHANNEL_RESOLUTION) >= 10);
+        assertEquals(3, metrics.getCounter(ExecutionMetrics.COUNTER_RESOLVER_CALLS));
+        assertEquals(0, metrics.getCounter(ExecutionMetrics.COUNTER_DISK_CACHE_HITS));
+    }
+
+    @Test
+    public void testWriteJson() throws Exception {
+        ExecutionMetrics metrics = new ExecutionMetrics();
+        metrics.startPhase(ExecutionMetrics.PHASE_INITIALIZE_MODEL);
+        metrics.startPhase(ExecutionMetrics.PHASE_WRITE);
+        metrics.increment(ExecutionMetrics.COUNTER_RESOLVER_CALLS);
+        metrics.end();
+        StringWriter writer = new StringWriter();
+        metrics.writeJson("org.foo:\"bom\":1.0", writer);
+        final String json = writer.toString();
+
+        assertTrue(json, json.startsWith("{\n  \"bom\": \"org.foo:\\\"bom\\\":1.0\",\n  \"totalMillis\": "));
+        assertTrue(json, json.contains("\"phases\": {\n    \"initializeModel\": "));
+        assertTrue(json, json.contains(",\n    \"write\": "));
+        assertTrue(json, json.endsWith("\"counters\": {\n    \"resolverCalls\": 1\n  }\n}\n"));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.ArtifactProperties;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.DependencyCollectionContext;
+import org.eclipse.aether.collection.DependencyTraverser;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.util.graph.traverser.FatArtifactTraverser;
+import org.junit.Test;
+
+public class FirstLevelDependencyTraverserTest {
+
+    @Test
+    public void testTraversesOnlyFirstLevel() throws Exception {
+        Dependency dependency = new Dependency(new DefaultArtifact("org.foo:a:1.0"), "compile");
+        // the collector derives the session's traverser for the root, and then for each traversed dependency
+        DependencyTraverser traverser = new FirstLevelDependencyTraverser(null).deriveChildTraverser(null);
+        assertTrue(traverser.traverseDependency(dependency));
+        DependencyTraverser childTraverser = traverser.deriveChildTraverser(null);
+        assertFalse(childTraverser.traverseDependency(dependency));
+        assertEquals(childTraverser, childTraverser.deriveChildTraverser(null));
+    }
+
+    @Test
+    public void testSessionTraverser() throws Exception {
+        Dependency fatDependency = new Dependency(new DefaultArtifact("org.foo:a:1.0").setProperties(Collections.singletonMap(ArtifactProperties.INCLUDES_DEPENDENCIES, "true")), "compile");
+        DependencyTraverser traverser = new FirstLevelDependencyTraverser(new FatArtifactTraverser()).deriveChildTraverser(createContext());
+        assertFalse(traverser.traverseDependency(fatDependency));
+        assertTrue(traverser.traverseDependency(new Dependency(new DefaultArtifact("org.foo:b:1.0"), "compile")));
+    }
+
+    private DependencyCollectionContext createContext() {
+        return new DependencyCollectionContext() {
+            @Override
+            public RepositorySystemSession getSession() {
+                return null;
+            }
+
+            @Override
+            public Artifact getArtifact() {
+                return new DefaultArtifact("org.builder:builder:1.0");
+            }
+
+            @Override
+            public Dependency getDependency() {
+                return null;
+            }
+
+            @Override
+            public List<Dependency> getManagedDependencies() {
+                return Collections.emptyList();
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class IncludedDependenciesTest {
+
+    @Test
+    public void testInclusionOrderAndDuplicates() throws Exception {
+        IncludedDependencies includedDependencies = new IncludedDependencies();
+        assertFalse(includedDependencies.hasTransitives());
+        includedDependencies.include("org.foo:c:jar", false);
+        includedDependencies.include("org.foo:a:jar", true);
+        includedDependencies.include("org.foo:c:jar", true);
+        includedDependencies.include("org.foo:b:jar", false);
+        includedDependencies.include("org.foo:a:jar", false);
+
+        assertEquals(Arrays.asList("org.foo:c:jar", "org.foo:a:jar", "org.foo:b:jar"), new ArrayList<>(includedDependencies.getManagementKeys()));
+        assertTrue(includedDependencies.hasTransitives());
+        assertTrue(includedDependencies.containsWithTransitives("org.foo:a:jar"));
+        assertTrue(includedDependencies.containsWithTransitives("org.foo:c:jar"));
+        assertFalse(includedDependencies.containsWithTransitives("org.foo:b:jar"));
+        assertTrue(includedDependencies.contains("org.foo:b:jar"));
+        assertFalse(includedDependencies.contains("org.foo:d:jar"));
+    }
+
+    /**
+     * A synthetic builder where every dependency is included twice, by includeDependencies and by
+     * includeDependenciesTransitives, and then verified, which would take minutes with list based membership checks.
+     */
+    @Test(timeout = 10000)
+    public void testLargeBuilder() throws Exception {
+        final int size = 100000;
+        final List<String> managementKeys = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            managementKeys.add("org.foo:dependency-" + i + ":jar");
+        }
+        IncludedDependencies includedDependencies = new IncludedDependencies();
+        for (String managementKey : managementKeys) {
+            includedDependencies.include(managementKey, false);
+        }
+        for (String managementKey : managementKeys) {
+            includedDependencies.include(managementKey, true);
+        }
+        for (String managementKey : managementKeys) {
+            assertTrue(includedDependencies.contains(managementKey));
+            assertTrue(includedDependencies.containsWithTransitives(managementKey));
+        }
+        assertEquals(managementKeys, new ArrayList<>(includedDependencies.getManagementKeys()));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.maven.model.Model;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ModelWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testUnchangedModelIsNotRewritten() throws Exception {
+        BuildBomMojo.ModelWriter modelWriter = new BuildBomMojo.ModelWriter();
+        File outputFile = new File(temporaryFolder.getRoot(), "target/bom-pom.xml");
+        Model model = createModel("1.0");
+
+        assertTrue(modelWriter.writeModel(model, outputFile));
+        assertTrue(outputFile.isFile());
+        assertTrue(outputFile.setLastModified(1000));
+
+        assertFalse(modelWriter.writeModel(model, outputFile));
+        assertEquals(1000, outputFile.lastModified());
+
+        assertTrue(modelWriter.writeModel(createModel("2.0"), outputFile));
+        assertEquals(1, outputFile.getParentFile().list().length);
+    }
+
+    private Model createModel(String version) {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("groupId");
+        model.setArtifactId("artifactId");
+        model.setVersion(version);
+        return model;
+    }
+}
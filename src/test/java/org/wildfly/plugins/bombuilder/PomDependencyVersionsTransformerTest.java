@@ -24,6 +24,12 @@
 package org.wildfly.plugins.bombuilder;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.DependencyManagement;
@@ -67,6 +73,94 @@ public class PomDependencyVersionsTransformerTest {
         assertEquals("${" + versionKey2 + "}", transformedModel.getDependencyManagement().getDependencies().get(1).getVersion());
     }
 
+    @Test
+    public void testDependencyVersionPropertiesAreOrderedByGroupId() throws Exception {
+        PomDependencyVersionsTransformer transformer = new PomDependencyVersionsTransformer();
+        Model pomModel = createPomModel();
+        addDependency(pomModel, createDependency("groupId2", "artifactId1", "version2"));
+        addDependency(pomModel, createDependency("groupId1", "artifactId1", "version1"));
+        addDependency(pomModel, createDependency("groupId2", "artifactId2", "version2"));
+        addDependency(pomModel, createDependency("groupId1", "artifactId2", "version3"));
+
+        Model transformedModel = transformer.transformPomModel(pomModel);
+
+        assertEquals(3, transformedModel.getProperties().size());
+        Iterator<Object> propertyNames = transformedModel.getProperties().keySet().iterator();
+        assertTrue(propertyNames.next().toString().startsWith("version.groupId1."));
+        assertTrue(propertyNames.next().toString().startsWith("version.groupId1."));
+        assertEquals("version.groupId2", propertyNames.next());
+        assertEquals("${version.groupId2}", transformedModel.getDependencyManagement().getDependencies().get(0).getVersion());
+        assertEquals("${version.groupId1.artifactId1}", transformedModel.getDependencyManagement().getDependencies().get(1).getVersion());
+        assertEquals("${version.groupId2}", transformedModel.getDependencyManagement().getDependencies().get(2).getVersion());
+        assertEquals("${version.groupId1.artifactId2}", transformedModel.getDependencyManagement().getDependencies().get(3).getVersion());
+    }
+
+    @Test
+    public void testDependencyVersionsAreTransformedInPlace() throws Exception {
+        PomDependencyVersionsTransformer transformer = new PomDependencyVersionsTransformer();
+        Model pomModel = createPomModel();
+        addDependency(pomModel, createDependency("groupId1", "artifactId", "version1"));
+        addDependency(pomModel, createDependency("groupId2", "artifactId1", "version2"));
+        addDependency(pomModel, createDependency("groupId2", "artifactId2", "version3"));
+
+        Model transformedModel = transformer.transformPomModel(pomModel);
+        transformer.transformDependencyVersions(pomModel);
+
+        assertEquals(transformedModel.getProperties(), pomModel.getProperties());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(transformedModel.getDependencyManagement().getDependencies().get(i).getVersion(), pomModel.getDependencyManagement().getDependencies().get(i).getVersion());
+        }
+    }
+
+    @Test
+    public void testMajorityVersionIsSpecifiedByGroupProperty() throws Exception {
+        PomDependencyVersionsTransformer transformer = new PomDependencyVersionsTransformer();
+        Model pomModel = createPomModel();
+        addDependency(pomModel, createDependency("groupId", "artifactId1", "version1"));
+        addDependency(pomModel, createDependency("groupId", "artifactId2", "version2"));
+        addDependency(pomModel, createDependency("groupId", "artifactId3", "version2"));
+
+        transformer.transformDependencyVersions(pomModel, VersionPropertyStrategy.MAJORITY, null, null);
+
+        assertEquals(2, pomModel.getProperties().size());
+        assertEquals("version2", pomModel.getProperties().get("version.groupId"));
+        assertEquals("version1", pomModel.getProperties().get("version.groupId.artifactId1"));
+        assertEquals("${version.groupId.artifactId1}", pomModel.getDependencyManagement().getDependencies().get(0).getVersion());
+        assertEquals("${version.groupId}", pomModel.getDependencyManagement().getDependencies().get(1).getVersion());
+        assertEquals("${version.groupId}", pomModel.getDependencyManagement().getDependencies().get(2).getVersion());
+    }
+
+    @Test
+    public void testDependencyVersionsAreSpecifiedByNamedProperties() throws Exception {
+        PomDependencyVersionsTransformer transformer = new PomDependencyVersionsTransformer();
+        Model pomModel = createPomModel();
+        addDependency(pomModel, createDependency("groupId1", "artifactId1", "version1"));
+        addDependency(pomModel, createDependency("groupId1", "artifactId2", "version2"));
+        addDependency(pomModel, createDependency("groupId2", "artifactId", "version3"));
+        addDependency(pomModel, createDependency("groupId3", "artifactId", "version4"));
+        VersionProperty versionProperty = new VersionProperty();
+        versionProperty.setGroupId("groupId1");
+        versionProperty.setArtifactId("*");
+        versionProperty.setPropertyName("version.rule");
+        Map<String, String> builderVersionProperties = new HashMap<>();
+        builderVersionProperties.put("groupId2:artifactId:jar", "version.builder");
+
+        transformer.transformDependencyVersions(pomModel, VersionPropertyStrategy.BUILDER, new DependencyMatcher<>(Collections.singletonList(versionProperty)), builderVersionProperties);
+
+        // the 2nd dependency matching the rule has another version
+        assertEquals(4, pomModel.getProperties().size());
+        Iterator<Object> propertyNames = pomModel.getProperties().keySet().iterator();
+        assertEquals("version.builder", propertyNames.next());
+        assertEquals("version.rule", propertyNames.next());
+        assertEquals("version.groupId1", propertyNames.next());
+        assertEquals("version.groupId3", propertyNames.next());
+        assertEquals("${version.rule}", pomModel.getDependencyManagement().getDependencies().get(0).getVersion());
+        assertEquals("${version.groupId1}", pomModel.getDependencyManagement().getDependencies().get(1).getVersion());
+        assertEquals("version2", pomModel.getProperties().get("version.groupId1"));
+        assertEquals("${version.builder}", pomModel.getDependencyManagement().getDependencies().get(2).getVersion());
+        assertEquals("${version.groupId3}", pomModel.getDependencyManagement().getDependencies().get(3).getVersion());
+    }
+
     // FIXME one groupId with same versions, but configuration requires property for given artifactId
 
     private String createKey(Dependency dependency) {
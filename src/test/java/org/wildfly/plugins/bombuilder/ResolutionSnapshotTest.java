@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wildfly.plugins.bombuilder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.Test;
+
+public class ResolutionSnapshotTest {
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        DefaultDependencyNode transitive = createNode("transitive", "1.0");
+        DefaultDependencyNode dependency = createNode("dependency", "1.0");
+        dependency.setChildren(new ArrayList<>(Arrays.asList(transitive)));
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("groupId:root:pom:1.0"));
+        root.setChildren(new ArrayList<>(Arrays.asList(dependency)));
+        ResolutionSnapshot snapshot = new ResolutionSnapshot();
+        snapshot.putDependencyGraph("graph2", new DependencyGraph(root));
+        snapshot.putDependencyGraph("graph1", new DependencyGraph(root));
+        snapshot.putChannelVersion("groupId:dependency:jar:1.0", "1.1");
+        snapshot.putChannelVersion("groupId:unknown:jar:1.0", null);
+        snapshot.putResolvedDependencies("dependencies", Arrays.asList(dependency.getDependency(), new Dependency(new DefaultArtifact("groupId:classified:test-jar:tests:1.0"), "test")));
+        assertFalse(snapshot.isReplay());
+
+        StringWriter writer = new StringWriter();
+        snapshot.write(writer);
+        ResolutionSnapshot snapshotRead = ResolutionSnapshot.read(new BufferedReader(new StringReader(writer.toString())));
+
+        assertTrue(snapshotRead.isReplay());
+        assertEquals(new DependencyGraph(root).getDependencies(null), snapshotRead.getDependencyGraph("graph1").getDependencies(null));
+        assertEquals(new DependencyGraph(root).getDependencies(null), snapshotRead.getDependencyGraph("graph2").getDependencies(null));
+        assertNull(snapshotRead.getDependencyGraph("graph3"));
+        assertEquals("1.1", snapshotRead.getChannelVersion("groupId:dependency:jar:1.0"));
+        assertTrue(snapshotRead.containsChannelVersion("groupId:unknown:jar:1.0"));
+        assertNull(snapshotRead.getChannelVersion("groupId:unknown:jar:1.0"));
+        assertFalse(snapshotRead.containsChannelVersion("groupId:other:jar:1.0"));
+        assertEquals(2, snapshotRead.getResolvedDependencies("dependencies").size());
+        assertEquals("groupId:dependency:jar", snapshotRead.getResolvedDependencies("dependencies").get(0).getManagementKey());
+        assertEquals("groupId:classified:test-jar:tests", snapshotRead.getResolvedDependencies("dependencies").get(1).getManagementKey());
+        assertNull(snapshotRead.getResolvedDependencies("other"));
+        // results are written ordered by key, thus the same snapshot is always written the same
+        StringWriter writerOfSnapshotRead = new StringWriter();
+        snapshotRead.write(writerOfSnapshotRead);
+        assertEquals(writer.toString(), writerOfSnapshotRead.toString());
+        assertTrue(writer.toString().indexOf("graph\tgraph1\n") < writer.toString().indexOf("graph\tgraph2\n"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadNotTerminated() throws Exception {
+        ResolutionSnapshot.read(new BufferedReader(new StringReader("graph\tgraph1\ngroupId:root:pom:1.0\n")));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadInvalid() throws Exception {
+        ResolutionSnapshot.read(new BufferedReader(new StringReader("unknown\tentry\n")));
+    }
+
+    private DefaultDependencyNode createNode(String artifactId, String version) {
+        DefaultDependencyNode node = new DefaultDependencyNode(new Dependency(new DefaultArtifact("groupId", artifactId, "jar", version), "compile"));
+        node.setChildren(new ArrayList<>());
+        return node;
+    }
+}